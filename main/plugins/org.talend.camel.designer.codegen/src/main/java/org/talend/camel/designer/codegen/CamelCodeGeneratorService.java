@@ -1,6 +1,8 @@
 package org.talend.camel.designer.codegen;
 
 import org.eclipse.core.runtime.jobs.Job;
+import org.talend.camel.designer.codegen.jet.JetUtil;
+import org.talend.camel.designer.codegen.partgen.SubTreeCodeCache;
 import org.talend.camel.model.IRouteProcess;
 import org.talend.core.model.process.IProcess;
 import org.talend.designer.codegen.ICamelCodeGeneratorService;
@@ -14,11 +16,17 @@ public class CamelCodeGeneratorService implements ICamelCodeGeneratorService {
 
     @Override
     public Job initializeTemplates() {
+        JetUtil.clearTemplateCache();
+        SubTreeCodeCache.INSTANCE.clear();
+        JetUtil.resetEmittersPoolFactoryReadiness();
         return null;
     }
 
     @Override
     public Job refreshTemplates() {
+        JetUtil.clearTemplateCache();
+        SubTreeCodeCache.INSTANCE.clear();
+        JetUtil.resetEmittersPoolFactoryReadiness();
         return null;
     }
 
@@ -1,15 +1,10 @@
 package org.talend.camel.designer.codegen.argument;
 
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.List;
 
 import org.talend.camel.designer.codegen.util.ProcessUtil;
 import org.talend.camel.model.IRouteProcess;
-import org.talend.commons.exception.ExceptionHandler;
 import org.talend.core.CorePlugin;
 import org.talend.core.model.process.IContext;
 import org.talend.core.model.process.INode;
@@ -17,48 +12,55 @@ import org.talend.core.model.temp.ETypeGen;
 import org.talend.designer.codegen.config.CodeGeneratorArgument;
 import org.talend.designer.codegen.config.NodesTree;
 
+/**
+ * Builds the arguments of the code parts of a route. Each argument is a new CodeGeneratorArgument on which only
+ * the settings of the route are set, all its other properties keep their default values.
+ */
 public class CodeGeneratorArgumentBuilder {
 
-	private CodeGeneratorArgument template;
 	private IRouteProcess process;
 	private NodesTree processTree;
 
-	private BeanInfo beanInfo;
+	private final boolean statistics;
+	private final boolean trace;
+	private final int pauseTime;
+	private boolean checkingSyntax;
+	private String[] options;
+	private String jobName;
+	private String jobVersion;
+	private String contextName;
+	private boolean runInMultiThread;
 
     public CodeGeneratorArgumentBuilder(IRouteProcess process, boolean statistics, boolean trace, String[] options) {
-        template = new CodeGeneratorArgument();
+        this.statistics = statistics;
+        this.trace = trace;
         setProcess(process);
-        template.setStatistics(statistics);
-        template.setTrace(trace);
         setOptions(options);
 
-        template.setCheckingSyntax(false);
-        template.setPauseTime(CorePlugin.getDefault().getRunProcessService().getPauseTime());
-
-        try {
-            beanInfo = Introspector.getBeanInfo(CodeGeneratorArgument.class);
-        } catch (IntrospectionException e) {
-            ExceptionHandler.process(e);
-        }
+        checkingSyntax = false;
+        pauseTime = CorePlugin.getDefault().getRunProcessService().getPauseTime();
     }
 
+    /**
+     * Called for every code part of every node, so the route settings are set directly instead of being copied
+     * from a template argument through its bean properties.
+     */
     public CodeGeneratorArgument build() {
-		return cloneTemplate();
-	}
-
-    private CodeGeneratorArgument cloneTemplate() {
         final CodeGeneratorArgument argument = new CodeGeneratorArgument();
-        for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
-            final Method rm, wm;
-            if (null != (rm = propertyDescriptor.getReadMethod()) 
-                && null != (wm = propertyDescriptor.getWriteMethod())) {
-                try {
-                    wm.invoke(argument, rm.invoke(template));
-                } catch (Exception e) {
-                    ExceptionHandler.process(e);
-                }
-            }
+        argument.setJobName(jobName);
+        if (jobVersion != null) {
+            argument.setJobVersion(jobVersion);
         }
+        argument.setContextName(contextName);
+        argument.setIsRunInMultiThread(runInMultiThread);
+        argument.setStatistics(statistics);
+        argument.setTrace(trace);
+        argument.setInterpreterPath(options[0]);
+        argument.setLibPath(options[1]);
+        argument.setRuntimeFilePath(options[2]);
+        argument.setCurrentProjectName(options[3]);
+        argument.setCheckingSyntax(checkingSyntax);
+        argument.setPauseTime(pauseTime);
         return argument;
     }
 
@@ -66,30 +68,35 @@ public class CodeGeneratorArgumentBuilder {
 		if (options == null || options.length < 4) {
 			options = new String[] { "", "", "", "" };
 		}
-		template.setInterpreterPath(options[0]);
-		template.setLibPath(options[1]);
-		template.setRuntimeFilePath(options[2]);
-		template.setCurrentProjectName(options[3]);
+		this.options = options;
 	}
 
 	public void setProcess(IRouteProcess process) {
 		this.process = process;
-		template.setJobName(process.getName());
+		jobName = process.getName();
 		if (process.getVersion() != null) {
-			template.setJobVersion(process.getVersion().replace(".", "_"));
+			jobVersion = process.getVersion().replace(".", "_");
 		}
-		template.setContextName(process.getContextManager().getDefaultContext().getName());
+		setContextName(process.getContextManager().getDefaultContext().getName());
 
-		template.setIsRunInMultiThread(ProcessUtil.getRunInMultiThread(process));
+		runInMultiThread = ProcessUtil.getRunInMultiThread(process);
 	}
 
     
 	public void setContextName(String contextName) {
-		template.setContextName(contextName);
+		this.contextName = contextName;
+	}
+
+	/**
+	 * @return the settings of the generated arguments which can change the generated code of a node
+	 */
+	public String getSettingsKey() {
+		return process.getId() + ';' + process.getName() + ';' + process.getVersion() + ';' + contextName + ';'
+				+ statistics + ';' + trace + ';' + runInMultiThread + ';' + Arrays.toString(options);
 	}
 
 	public void setCheckingSyntax(boolean b) {
-		template.setCheckingSyntax(b);
+		checkingSyntax = b;
 	}
 
 	public IRouteProcess getProcess() {
@@ -12,13 +12,26 @@
 // ============================================================================
 package org.talend.camel.designer.codegen.jet;
 
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.emf.codegen.jet.JETException;
 import org.talend.camel.designer.codegen.Activator;
 import org.talend.camel.designer.codegen.i18n.Messages;
 import org.talend.camel.designer.codegen.util.NodeUtil;
 import org.talend.core.GlobalServiceRegister;
+import org.talend.core.model.components.IComponent;
 import org.talend.core.model.components.IComponentsFactory;
 import org.talend.core.model.process.INode;
 import org.talend.core.model.temp.ECodePart;
@@ -33,9 +46,25 @@ public class JetUtil {
 
 	private static Logger log = Logger.getLogger(JetUtil.class);
 
-	private static final long INIT_TIMEOUT = 15L * 60 * 1000; // 15s
+	private static final long INIT_TIMEOUT = 15L * 60 * 1000; // 15min
+
+	/** safety net of the waiting code generations, in case the emitters are initialized outside of an Eclipse job */
+	private static final long INIT_CHECK_PERIOD = 250L;
+
+	private static CompletableFuture<Long> emittersReady;
 
-	private static final long INIT_PAUSE = 1000L; // 1s
+	/** completes {@link #emittersReady} once the emitters are initialized */
+	private static Runnable emittersReadyCheck;
+
+	/** JET plugin repository of the component templates, depends on the branding only */
+	private static volatile String componentsLocation;
+
+	/**
+	 * template URIs by component and code part. Components reloaded by their providers are new instances, so they
+	 * do not hit the entries of the previous ones, which go away with them.
+	 */
+	private static final Map<IComponent, Map<ECodePart, String>> TEMPLATE_URIS =
+			new WeakHashMap<IComponent, Map<ECodePart, String>>();
 
 	/**
 	 * Initialize Jet Bean to pass to the Jet Generator.
@@ -50,27 +79,57 @@ public class JetUtil {
 
 		if (argument != null && argument.getArgument() instanceof INode) {
 			INode node = (INode) argument.getArgument();
-			String componentsPath = IComponentsFactory.COMPONENTS_LOCATION;
+			jetBean.setJetPluginRepository(getComponentsLocation());
+			jetBean.setTemplateRelativeUri(getTemplateURI(node.getComponent(), argument.getCodePart()));
+		}
+		if (jetBean.getJetPluginRepository() == null) {
+			jetBean.setJetPluginRepository(Activator.getDefault().getBundle().getSymbolicName());
+		}
+		return jetBean;
+	}
 
+	private static String getComponentsLocation() {
+		String location = componentsLocation;
+		if (location == null) {
+			location = IComponentsFactory.COMPONENTS_LOCATION;
 			IBrandingService breaningService = (IBrandingService) GlobalServiceRegister.getDefault().getService(
 					IBrandingService.class);
 			if (breaningService.isPoweredOnlyCamel()) {
-				componentsPath = IComponentsFactory.CAMEL_COMPONENTS_LOCATION;
+				location = IComponentsFactory.CAMEL_COMPONENTS_LOCATION;
 			}
+			componentsLocation = location;
+		}
+		return location;
+	}
 
-			jetBean.setJetPluginRepository(componentsPath);
-
-			initTemplateRelativeUri(jetBean, node, argument.getCodePart());
+	private static String getTemplateURI(IComponent component, ECodePart codePart) {
+		if (codePart == null) {
+			return NodeUtil.getTemplateURI(component, codePart);
 		}
-		if (jetBean.getJetPluginRepository() == null) {
-			jetBean.setJetPluginRepository(Activator.getDefault().getBundle().getSymbolicName());
+		synchronized (TEMPLATE_URIS) {
+			Map<ECodePart, String> uris = TEMPLATE_URIS.get(component);
+			if (uris == null) {
+				uris = new EnumMap<ECodePart, String>(ECodePart.class);
+				TEMPLATE_URIS.put(component, uris);
+			}
+			String templateURI = uris.get(codePart);
+			if (templateURI == null) {
+				templateURI = NodeUtil.getTemplateURI(component, codePart);
+				uris.put(codePart, templateURI);
+			}
+			return templateURI;
 		}
-		return jetBean;
 	}
 
-	private static void initTemplateRelativeUri(JetBean jetBean, INode node, ECodePart codePart) {
-		String templateURI = NodeUtil.getTemplateURI(node, codePart);
-		jetBean.setTemplateRelativeUri(templateURI);
+	/**
+	 * Forgets the branding and template locations resolved so far, for instance after the component providers were
+	 * reloaded.
+	 */
+	public static void clearTemplateCache() {
+		synchronized (TEMPLATE_URIS) {
+			TEMPLATE_URIS.clear();
+		}
+		componentsLocation = null;
 	}
 
 	public static String jetGenerate(JetBean jetBean) throws CodeGeneratorException {
@@ -97,19 +156,89 @@ public class JetUtil {
 		return jetGenerate(jetBean);
 	}
 
+	/**
+	 * Readiness of the JET emitters pool, shared by all the code generations waiting for it.
+	 *
+	 * @return a future completed with the time in milliseconds code generation had to wait for the emitters pool
+	 *         initialization, 0 if it was already initialized
+	 */
+	public static synchronized CompletableFuture<Long> getEmittersPoolFactoryReadiness() {
+		// a completed readiness is stale once the templates are initialized again
+		if (emittersReady != null && (!emittersReady.isDone() || CodeGeneratorEmittersPoolFactory.isInitialized())) {
+			return emittersReady;
+		}
+		if (CodeGeneratorEmittersPoolFactory.isInitialized()) {
+			emittersReady = CompletableFuture.completedFuture(0L);
+			emittersReadyCheck = null;
+			return emittersReady;
+		}
+
+		final CompletableFuture<Long> ready = new CompletableFuture<Long>();
+		final long start = System.currentTimeMillis();
+		final Runnable check = () -> {
+			if (!ready.isDone() && CodeGeneratorEmittersPoolFactory.isInitialized()) {
+				long waited = System.currentTimeMillis() - start;
+				if (ready.complete(waited)) {
+					log.info("JET emitters initialized after " + waited + " ms of code generation wait"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		};
+		final IJobChangeListener jobListener = new JobChangeAdapter() {
+
+			@Override
+			public void done(IJobChangeEvent event) {
+				check.run();
+			}
+		};
+		Job.getJobManager().addJobChangeListener(jobListener);
+		ready.whenComplete((waited, e) -> Job.getJobManager().removeJobChangeListener(jobListener));
+		// initialized in between
+		check.run();
+
+		emittersReady = ready;
+		emittersReadyCheck = check;
+		return ready;
+	}
+
+	/**
+	 * Forgets the readiness of the emitters pool, called when the templates are initialized or refreshed.
+	 */
+	public static synchronized void resetEmittersPoolFactoryReadiness() {
+		if (emittersReady != null && emittersReady.isDone()) {
+			emittersReady = null;
+			emittersReadyCheck = null;
+		}
+	}
+
+	private static synchronized Runnable getEmittersReadyCheck() {
+		return emittersReadyCheck;
+	}
+
 	public static void checkEmittersPoolFactoryIsReady() throws CodeGeneratorException {
-		long startTimer = System.currentTimeMillis();
-		long endTimer = startTimer;
+		CompletableFuture<Long> ready = getEmittersPoolFactoryReadiness();
+		long deadline = System.currentTimeMillis() + INIT_TIMEOUT;
 		try {
-			while (!CodeGeneratorEmittersPoolFactory.isInitialized() && (endTimer - startTimer) < INIT_TIMEOUT) {
-				Thread.sleep(INIT_PAUSE);
-				endTimer = System.currentTimeMillis();
+			while (true) {
+				try {
+					ready.get(INIT_CHECK_PERIOD, TimeUnit.MILLISECONDS);
+					return;
+				} catch (TimeoutException e) {
+					if (System.currentTimeMillis() >= deadline) {
+						throw e;
+					}
+					Runnable check = getEmittersReadyCheck();
+					if (check != null) {
+						check.run();
+					}
+				}
 			}
 		} catch (InterruptedException e) {
 			log.error(e.getMessage(), e);
+			Thread.currentThread().interrupt();
 			throw new CodeGeneratorException(e);
-		}
-		if ((endTimer - startTimer) > INIT_TIMEOUT) {
+		} catch (ExecutionException e) {
+			throw new CodeGeneratorException(e.getCause());
+		} catch (TimeoutException e) {
 			throw new CodeGeneratorException(Messages.getString("CodeGenerator.JET.TimeOut")); //$NON-NLS-1$
 		}
 	}
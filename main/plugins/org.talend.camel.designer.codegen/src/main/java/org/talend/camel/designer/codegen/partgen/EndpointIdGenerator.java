@@ -12,14 +12,30 @@
 // ============================================================================
 package org.talend.camel.designer.codegen.partgen;
 
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.text.StringEscapeUtils;
 import org.talend.camel.designer.codegen.util.NodeUtil;
 import org.talend.core.model.process.INode;
+import org.talend.core.model.process.IProcess;
 import org.talend.designer.codegen.exception.CodeGeneratorException;
 
+/**
+ * Generates the <code>.routeId()</code> and <code>.id()</code> statements of the route nodes.
+ * <p>
+ * The statements of all the generating nodes of a process are computed once, on the first request for one of its
+ * nodes, and reused until {@link #reset()}. Nodes of routelets may have the same names as nodes of the route, in
+ * which case the ids after the first one get a numbered suffix, so that Camel accepts them.
+ */
 public class EndpointIdGenerator implements PartGenerator<INode> {
 
+    /** statements of the generating nodes, by process */
+    private final Map<IProcess, Map<INode, String>> parts = new IdentityHashMap<IProcess, Map<INode, String>>();
+
     private static final String getNodeId(INode node) {
         String label = "";
         String labelValue = String.valueOf(node.getElementParameter("LABEL").getValue());
@@ -31,8 +47,7 @@ public class EndpointIdGenerator implements PartGenerator<INode> {
         return node.getProcess().getName() + '_' + node.getUniqueName() + label;
     }
 
-    @Override
-    public CharSequence generatePart(INode node, Object... ignoredParams) throws CodeGeneratorException {
+    private static String getPart(INode node, String nodeId) {
         String part;
         // cJavaDSL should not be generating id() DSL statement
         if ("cJavaDSLProcessor".equals(node.getComponent().getName())) { //$NON-NLS-1$
@@ -41,12 +56,55 @@ public class EndpointIdGenerator implements PartGenerator<INode> {
             if ("cErrorHandler".equals(node.getComponent().getName())) { //$NON-NLS-1$
                 part = ""; //$NON-NLS-1$
             } else {
-                part = ".routeId(\"" + getNodeId(node) + "\")"; //$NON-NLS-1$ //$NON-NLS-2$
+                part = ".routeId(\"" + nodeId + "\")"; //$NON-NLS-1$ //$NON-NLS-2$
             }
         } else {
-            part = ".id(\"" + getNodeId(node) + "\")"; //$NON-NLS-1$ //$NON-NLS-2$
+            part = ".id(\"" + nodeId + "\")"; //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        return part;
+    }
+
+    @Override
+    public synchronized CharSequence generatePart(INode node, Object... ignoredParams) throws CodeGeneratorException {
+        Map<INode, String> processParts = parts.get(node.getProcess());
+        if (processParts == null) {
+            processParts = computeParts(node.getProcess());
+            parts.put(node.getProcess(), processParts);
+        }
+        String part = processParts.get(node);
+        if (part == null) {
+            // not a generating node of its process
+            part = getPart(node, getNodeId(node));
         }
         return part;
     }
 
+    private static Map<INode, String> computeParts(IProcess process) {
+        Map<INode, String> processParts = new IdentityHashMap<INode, String>();
+        if (process == null || process.getGeneratingNodes() == null) {
+            return processParts;
+        }
+        Set<String> nodeIds = new HashSet<String>();
+        for (INode node : process.getGeneratingNodes()) {
+            String nodeId = getNodeId(node);
+            if (!nodeIds.add(nodeId)) {
+                String uniqueId;
+                int suffix = 1;
+                do {
+                    uniqueId = nodeId + '_' + suffix++;
+                } while (!nodeIds.add(uniqueId));
+                nodeId = uniqueId;
+            }
+            processParts.put(node, getPart(node, nodeId));
+        }
+        return processParts;
+    }
+
+    /**
+     * Forgets the ids computed so far, the process may have been changed since.
+     */
+    public synchronized void reset() {
+        parts.clear();
+    }
+
 }
@@ -1,5 +1,9 @@
 package org.talend.camel.designer.codegen.partgen;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.log4j.Logger;
 import org.talend.camel.designer.codegen.argument.ArgumentBuilderHolder;
 import org.talend.camel.designer.codegen.argument.CodeGeneratorArgumentBuilder;
 import org.talend.camel.designer.codegen.config.ECamelTemplate;
@@ -8,6 +12,7 @@ import org.talend.camel.designer.codegen.partgen.process.ComponentsCodePartBuild
 import org.talend.camel.designer.codegen.partgen.process.NodePartBuilder;
 import org.talend.camel.designer.codegen.partgen.process.ProcessPartBuilder;
 import org.talend.camel.designer.codegen.partgen.process.TreeCodePartBuilder;
+import org.talend.camel.designer.codegen.util.NodeAncestry;
 import org.talend.camel.model.IRouteProcess;
 import org.talend.core.model.process.IContext;
 import org.talend.core.model.process.INode;
@@ -17,9 +22,15 @@ import org.talend.designer.codegen.exception.CodeGeneratorException;
 
 public class PartGeneratorManager extends ArgumentBuilderHolder {
 
+	private static final Logger LOG = Logger.getLogger(PartGeneratorManager.class);
+
 	private PartGenerator<ECamelTemplate> templateGenerator;
 	private PartGenerator<IContext> contextGenerator;
-	private PartGenerator<INode> endpointIdGenerator;
+	private EndpointIdGenerator endpointIdGenerator;
+	private NodeAncestry nodeAncestry = new NodeAncestry();
+	private SubTreeCodeCache.RouteKey routeKey;
+	private List<INode> markedNodes;
+	private List<ECodePart> markedParts;
 
     /**
      * DOC yyan PartGeneratorManager constructor comment.
@@ -45,6 +56,10 @@ public class PartGeneratorManager extends ArgumentBuilderHolder {
 		return builder;
 	}
 
+	public NodeAncestry getNodeAncestry() {
+		return nodeAncestry;
+	}
+
 	public CharSequence genTemplatePart(ECamelTemplate template, Object... params) throws CodeGeneratorException {
 		return templateGenerator.generatePart(template, params);
 	}
@@ -54,6 +69,10 @@ public class PartGeneratorManager extends ArgumentBuilderHolder {
 	}
 
 	public String generateProcessCode() throws CodeGeneratorException {
+		// the route may have been changed since the last generation
+		nodeAncestry = new NodeAncestry();
+		endpointIdGenerator.reset();
+		routeKey = null;
 		AbstractProcessPartBuilder builder = new ProcessPartBuilder(this);
 		builder.appendContent();
 		return builder.build().toString();
@@ -63,6 +82,51 @@ public class PartGeneratorManager extends ArgumentBuilderHolder {
 		return new ComponentsCodePartBuilder(this, subProcess, node, part, incomingName).appendContent().build();
 	}
 
+	/**
+	 * Code of a whole sub tree of the route, reused from the previous generations when the sub tree didn't change.
+	 */
+	public CharSequence generateSubTreeCode(NodesSubTree subTree) throws CodeGeneratorException {
+		if (!SubTreeCodeCache.isEnabled()) {
+			return generateComponentsCode(subTree, subTree.getRootNode(), ECodePart.MAIN, null);
+		}
+		SubTreeCodeCache cache = SubTreeCodeCache.INSTANCE;
+		if (routeKey == null) {
+			routeKey = SubTreeCodeCache.getRouteKey(argumentBuilder);
+		}
+		String key = SubTreeCodeCache.getKey(routeKey, subTree, this);
+		SubTreeCodeCache.Entry entry = cache.get(key);
+		if (entry == null) {
+			markedNodes = new ArrayList<INode>();
+			markedParts = new ArrayList<ECodePart>();
+			try {
+				String code = generateComponentsCode(subTree, subTree.getRootNode(), ECodePart.MAIN, null).toString();
+				entry = new SubTreeCodeCache.Entry(code, markedNodes, markedParts);
+			} finally {
+				markedNodes = null;
+				markedParts = null;
+			}
+			cache.put(key, entry);
+		} else {
+			// the generation marks the nodes it generated
+			entry.markNodes(subTree);
+		}
+		if (LOG.isDebugEnabled()) {
+			LOG.debug("sub tree code cache: " + cache.getHits() + " hits, " + cache.getMisses() + " misses");
+		}
+		return entry.getCode();
+	}
+
+	/**
+	 * Marks the part of the node as generated, recorded with the code of the sub tree when it is cached.
+	 */
+	public void markNode(NodesSubTree subProcess, INode node, ECodePart part) {
+		subProcess.markNode(node, part);
+		if (markedNodes != null) {
+			markedNodes.add(node);
+			markedParts.add(part);
+		}
+	}
+
 	public CharSequence generateTreeCode(NodesSubTree subProcess, INode node, ECodePart part) throws CodeGeneratorException {
 		if(node == null) {
 			return "";
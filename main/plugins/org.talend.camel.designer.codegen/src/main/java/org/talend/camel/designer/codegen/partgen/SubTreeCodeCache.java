@@ -0,0 +1,293 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.camel.designer.codegen.partgen;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.talend.camel.designer.codegen.argument.CodeGeneratorArgumentBuilder;
+import org.talend.camel.designer.codegen.util.NodeUtil;
+import org.talend.camel.model.IRouteProcess;
+import org.talend.core.model.process.IConnection;
+import org.talend.core.model.process.IContextParameter;
+import org.talend.core.model.process.IElementParameter;
+import org.talend.core.model.process.INode;
+import org.talend.core.model.temp.ECodePart;
+import org.talend.designer.codegen.config.NodesSubTree;
+import org.talend.designer.codegen.exception.CodeGeneratorException;
+
+/**
+ * Code generated for the sub trees of routes, reused by the next generations as long as neither the sub tree nor what
+ * its templates read from the rest of the route changed.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of:
+ * <ul>
+ * <li>the generation settings, the parameters of the route and of its default context, computed once per
+ * generation;</li>
+ * <li>the element parameters, connections, template URIs and endpoint ids of the nodes of the sub tree;</li>
+ * <li>the same for the nodes of other sub trees they refer to by unique name in a parameter, the cDirect consumer of
+ * a producer or the connection factory of an endpoint for instance, which is how the route templates read other
+ * nodes.</li>
+ * </ul>
+ * Changing a node therefore generates again its sub tree and the sub trees referring to it only. The cache is cleared
+ * when the templates are refreshed, and can be turned off with the <code>talend.camel.codegen.fullGeneration</code>
+ * system property.
+ */
+public final class SubTreeCodeCache {
+
+    public static final SubTreeCodeCache INSTANCE = new SubTreeCodeCache();
+
+    private static final int MAX_SIZE = Integer.getInteger("talend.camel.codegen.subTreeCacheSize", 2048); //$NON-NLS-1$
+
+    /**
+     * Code of a sub tree, and the node parts its generation marked in the sub tree, marked again when it is reused.
+     */
+    public static final class Entry {
+
+        private final String code;
+
+        private final List<String> markedNodes = new ArrayList<String>();
+
+        private final List<ECodePart> markedParts = new ArrayList<ECodePart>();
+
+        public Entry(String code, List<? extends INode> nodes, List<ECodePart> parts) {
+            this.code = code;
+            for (INode node : nodes) {
+                markedNodes.add(node.getUniqueName());
+            }
+            markedParts.addAll(parts);
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void markNodes(NodesSubTree subTree) {
+            Map<String, INode> nodes = new HashMap<String, INode>();
+            for (INode node : subTree.getNodes()) {
+                nodes.put(node.getUniqueName(), node);
+            }
+            for (int i = 0; i < markedNodes.size(); i++) {
+                INode node = nodes.get(markedNodes.get(i));
+                if (node != null) {
+                    subTree.markNode(node, markedParts.get(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * What the sub trees of one generation share.
+     */
+    public static final class RouteKey {
+
+        private final String prefix;
+
+        private final Map<String, INode> nodesByName = new HashMap<String, INode>();
+
+        private RouteKey(String prefix, Collection<? extends INode> graphicalNodes,
+                Collection<? extends INode> generatingNodes) {
+            this.prefix = prefix;
+            // the templates look the referred nodes up in the graphical nodes
+            for (INode node : graphicalNodes) {
+                nodesByName.put(node.getUniqueName(), node);
+            }
+            for (INode node : generatingNodes) {
+                if (!nodesByName.containsKey(node.getUniqueName())) {
+                    nodesByName.put(node.getUniqueName(), node);
+                }
+            }
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private SubTreeCodeCache() {
+    }
+
+    public static boolean isEnabled() {
+        return !Boolean.getBoolean("talend.camel.codegen.fullGeneration"); //$NON-NLS-1$
+    }
+
+    /**
+     * @return the code previously generated for the same key, null if it has to be generated
+     */
+    public Entry get(String key) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return entry;
+    }
+
+    public void put(String key, Entry entry) {
+        synchronized (entries) {
+            entries.put(key, entry);
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+        hits.set(0);
+        misses.set(0);
+    }
+
+    public static RouteKey getRouteKey(CodeGeneratorArgumentBuilder argumentBuilder) {
+        StringBuilder sb = new StringBuilder(4096);
+        sb.append(argumentBuilder.getSettingsKey()).append('\n');
+        IRouteProcess process = argumentBuilder.getProcess();
+        appendParameters(sb, process.getElementParameters(), null, null, null);
+        for (IContextParameter parameter : argumentBuilder.getDefaultContext().getContextParameterList()) {
+            sb.append("context ").append(parameter.getName()).append('=').append(parameter.getValue()).append('\n'); //$NON-NLS-1$
+        }
+        return new RouteKey(sb.toString(), argumentBuilder.getGraphicalNodes(), argumentBuilder.getGeneratingNodes());
+    }
+
+    public static String getKey(RouteKey routeKey, NodesSubTree subTree, PartGeneratorManager manager)
+            throws CodeGeneratorException {
+        StringBuilder sb = new StringBuilder(routeKey.prefix.length() + 4096);
+        sb.append(routeKey.prefix);
+        Set<String> names = new HashSet<String>();
+        for (INode node : subTree.getNodes()) {
+            names.add(node.getUniqueName());
+        }
+        Deque<INode> referredNodes = new ArrayDeque<INode>();
+        for (INode node : subTree.getNodes()) {
+            appendNode(sb, node, routeKey, names, referredNodes);
+            sb.append("id ").append(manager.generateEndpointId(node)).append('\n'); //$NON-NLS-1$
+        }
+        // the referred nodes, and the nodes they refer to in turn
+        while (!referredNodes.isEmpty()) {
+            sb.append("referred "); //$NON-NLS-1$
+            appendNode(sb, referredNodes.poll(), routeKey, names, referredNodes);
+        }
+        return digest(sb);
+    }
+
+    private static void appendNode(StringBuilder sb, INode node, RouteKey routeKey, Set<String> names,
+            Deque<INode> referredNodes) {
+        sb.append("node ").append(node.getUniqueName()).append(' ') //$NON-NLS-1$
+            .append(node.getComponent().getName()).append(' ').append(node.getComponent().getVersion()).append(' ')
+            .append(NodeUtil.getTemplateURI(node, ECodePart.MAIN)).append(' ').append(node.isActivate()).append(' ')
+            .append(node.isStart()).append('\n');
+        appendParameters(sb, node.getElementParameters(), routeKey, names, referredNodes);
+        for (IConnection connection : node.getIncomingConnections()) {
+            sb.append("in "); //$NON-NLS-1$
+            appendConnection(sb, connection, routeKey, names, referredNodes);
+        }
+        for (IConnection connection : node.getOutgoingConnections()) {
+            sb.append("out "); //$NON-NLS-1$
+            appendConnection(sb, connection, routeKey, names, referredNodes);
+        }
+    }
+
+    private static void appendConnection(StringBuilder sb, IConnection connection, RouteKey routeKey,
+            Set<String> names, Deque<INode> referredNodes) {
+        sb.append(connection.getUniqueName()).append(' ').append(connection.getName()).append(' ')
+            .append(connection.getLineStyle()).append(' ').append(connection.getConnectorName()).append(' ')
+            .append(connection.getSource() == null ? null : connection.getSource().getUniqueName()).append(' ')
+            .append(connection.getTarget() == null ? null : connection.getTarget().getUniqueName()).append(' ')
+            .append(connection.isActivate()).append('\n');
+        appendParameters(sb, connection.getElementParameters(), routeKey, names, referredNodes);
+    }
+
+    private static void appendParameters(StringBuilder sb, List<? extends IElementParameter> parameters,
+            RouteKey routeKey, Set<String> names, Deque<INode> referredNodes) {
+        if (parameters == null) {
+            return;
+        }
+        for (IElementParameter parameter : parameters) {
+            Object value = parameter.getValue();
+            sb.append(parameter.getName()).append('=').append(value).append('\n');
+            if (routeKey == null) {
+                continue;
+            }
+            if (value instanceof String) {
+                addReferredNode(routeKey, (String) value, names, referredNodes);
+            } else if (value instanceof List) {
+                // tables
+                for (Object line : (List<?>) value) {
+                    if (line instanceof Map) {
+                        for (Object cell : ((Map<?, ?>) line).values()) {
+                            if (cell instanceof String) {
+                                addReferredNode(routeKey, (String) cell, names, referredNodes);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void addReferredNode(RouteKey routeKey, String value, Set<String> names,
+            Deque<INode> referredNodes) {
+        INode node = routeKey.nodesByName.get(value.trim());
+        if (node != null && names.add(node.getUniqueName())) {
+            referredNodes.add(node);
+        }
+    }
+
+    private static String digest(CharSequence content) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256") //$NON-NLS-1$
+                .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // every JRE provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -40,6 +40,9 @@ public class TemplatePartGenerator extends ArgumentBuilderHolder implements Part
 			Object[] args = { process, VersionUtils.getVersion() };
 			return generateTypedComponentCode(template, wrapToVector(args));
 		}
+		case ROUTE_ENDPOINTS:
+			return generateTypedComponentCode(template, wrapToVector(process, params[0]));
+
 		case FOOTER_ROUTE:
 			return generateTypedComponentCode(template, wrapToVector(process, null != process.getSpringContent()));
 
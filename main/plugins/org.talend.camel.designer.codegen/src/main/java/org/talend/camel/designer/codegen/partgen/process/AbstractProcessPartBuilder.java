@@ -2,7 +2,6 @@ package org.talend.camel.designer.codegen.partgen.process;
 
 import org.talend.camel.designer.codegen.config.ECamelTemplate;
 import org.talend.camel.designer.codegen.partgen.PartGeneratorManager;
-import org.talend.core.model.temp.ECodePart;
 import org.talend.designer.codegen.config.NodesSubTree;
 import org.talend.designer.codegen.exception.CodeGeneratorException;
 
@@ -26,7 +25,7 @@ public abstract class AbstractProcessPartBuilder {
 	}
 
 	public AbstractProcessPartBuilder appendSubTree(NodesSubTree subTree) throws CodeGeneratorException {
-		append(manager.generateComponentsCode(subTree, subTree.getRootNode(), ECodePart.MAIN, null));
+		append(manager.generateSubTreeCode(subTree));
 		append(';');
 		return this;
 	}
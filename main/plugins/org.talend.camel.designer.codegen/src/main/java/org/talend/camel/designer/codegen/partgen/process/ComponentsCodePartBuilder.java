@@ -5,6 +5,7 @@ import java.util.Vector;
 
 import org.talend.camel.designer.codegen.config.ECamelTemplate;
 import org.talend.camel.designer.codegen.partgen.PartGeneratorManager;
+import org.talend.camel.designer.codegen.util.NodeAncestry;
 import org.talend.camel.designer.codegen.util.NodeUtil;
 import org.talend.core.model.process.EConnectionType;
 import org.talend.core.model.process.INode;
@@ -72,7 +73,7 @@ public class ComponentsCodePartBuilder extends AbstractProcessPartBuilder {
 						codeComponent.append(generateTypedComponentCode(ECamelTemplate.CAMEL_SPECIALLINKS));
                     } else {
                         // TESB-16270
-                        if ("cLoadBalancer".equals(
+                        if (NodeAncestry.LOAD_BALANCER.equals(
                                 node.getIncomingConnections().get(0).getSource().getComponent().getName())) {
                             codeComponent.append(".pipeline()");
                         }
@@ -84,25 +85,9 @@ public class ComponentsCodePartBuilder extends AbstractProcessPartBuilder {
                 // TESB-16270
                 if (node.getIncomingConnections() != null && node.getIncomingConnections().size() > 0
                         && (node.getOutgoingConnections() == null
-                                || node.getOutgoingConnections().size() == 0)) {
-                    INode sourceNode = node.getIncomingConnections().get(0).getSource();
-                    INode currentNode = node;
-                    boolean hasLoadBalance = false;
-                    while (sourceNode.getIncomingConnections() != null
-                            && sourceNode.getIncomingConnections().size() > 0) {
-                        if (currentNode.getIncomingConnections().get(0).getLineStyle()
-                                .equals(EConnectionType.ROUTE)
-                                && "cLoadBalancer".equals(currentNode.getIncomingConnections().get(0)
-                                        .getSource().getComponent().getName())) {
-                            hasLoadBalance = true;
-                            break;
-                        }
-                        currentNode = sourceNode;
-                        sourceNode = sourceNode.getIncomingConnections().get(0).getSource();
-                    }
-                    if (hasLoadBalance) {
-                        codeComponent.append(".end()");
-                    }
+                                || node.getOutgoingConnections().size() == 0)
+                        && manager.getNodeAncestry().isRoutedThrough(node, NodeAncestry.LOAD_BALANCER)) {
+                    codeComponent.append(".end()");
                 }
 
 				codeComponent.append(generatesTreeCode(ECodePart.MAIN));
@@ -133,7 +118,7 @@ public class ComponentsCodePartBuilder extends AbstractProcessPartBuilder {
 		default:
 			// do nothing
 		}
-		subProcess.markNode(node, part);
+		manager.markNode(subProcess, node, part);
 
 		return codeComponent;
 	}
@@ -13,7 +13,10 @@
 package org.talend.camel.designer.codegen.partgen.process;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 
 import org.talend.camel.designer.codegen.config.ECamelTemplate;
@@ -27,6 +30,15 @@ import org.talend.designer.codegen.exception.CodeGeneratorException;
 
 public class ProcessPartBuilder extends AbstractProcessPartBuilder {
 
+	/**
+	 * Components having declarations in the configure() method before the routes, the ones the route_endpoints
+	 * template compares the nodes with: keep both in sync.
+	 */
+	public static final Collection<String> ROUTE_ENDPOINTS_COMPONENTS = Collections.unmodifiableSet(new HashSet<String>(
+			Arrays.asList("cAggregate", "cAWSConnection", "cAWSS3", "cAzureStorageBlob", "cFtp", "cIdempotentConsumer", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+					"cLoadBalancer", "cLoop", "cMail", "cMessageFilter", "cMessageRouter", "cRecipientList", "cSetBody", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+					"cSetHeader", "cSetProperty", "cSOAP", "cSplitter", "cTalendJob", "cWireTap"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+
 	private final NodesTree nodesTree;
 
 	private final List<NodesSubTree> subTrees;
@@ -61,6 +73,10 @@ public class ProcessPartBuilder extends AbstractProcessPartBuilder {
 	@Override
 	public AbstractProcessPartBuilder appendContent() throws CodeGeneratorException {
 		appendTyped(ECamelTemplate.HEADER_ROUTE);
+		List<INode> endpointNodes = getRouteEndpointNodes();
+		if (!endpointNodes.isEmpty()) {
+			appendTyped(ECamelTemplate.ROUTE_ENDPOINTS, endpointNodes);
+		}
 		if (hasSubTrees()) {
 			for (NodesSubTree subTree : sortedFilteredSubTrees) {
 				appendSubTree(subTree);
@@ -72,6 +88,16 @@ public class ProcessPartBuilder extends AbstractProcessPartBuilder {
 		return this;
 	}
 
+	private List<INode> getRouteEndpointNodes() {
+		List<INode> endpointNodes = new ArrayList<INode>();
+		for (INode node : manager.getArgumentBuilder().getProcess().getGraphicalNodes()) {
+			if (node.isActivate() && ROUTE_ENDPOINTS_COMPONENTS.contains(node.getComponent().getName())) {
+				endpointNodes.add(node);
+			}
+		}
+		return endpointNodes;
+	}
+
 	private boolean hasSubTrees() {
 		return subTrees != null && !subTrees.isEmpty();
 	}
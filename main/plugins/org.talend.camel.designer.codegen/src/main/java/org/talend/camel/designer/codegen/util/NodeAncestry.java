@@ -0,0 +1,87 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.camel.designer.codegen.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.talend.core.model.process.EConnectionType;
+import org.talend.core.model.process.IConnection;
+import org.talend.core.model.process.INode;
+
+/**
+ * Structural ancestors of the nodes of a route, following the first incoming connection of each node up to the
+ * start of the route. The answer is kept for every node on the way, so the lookups for all the nodes of a route are
+ * linear in its size instead of its size times its depth.
+ */
+public class NodeAncestry {
+
+    public static final String LOAD_BALANCER = "cLoadBalancer"; //$NON-NLS-1$
+
+    private final Map<String, Map<INode, Boolean>> routedThrough = new HashMap<String, Map<INode, Boolean>>();
+
+    /**
+     * @return true if the node is reached through a route connection coming out of a component with the given name.
+     * As for the .end() of load balancers, the connection coming out of the start node of the route is not considered.
+     */
+    public synchronized boolean isRoutedThrough(INode node, String componentName) {
+        Map<INode, Boolean> known = routedThrough.get(componentName);
+        if (known == null) {
+            known = new IdentityHashMap<INode, Boolean>();
+            routedThrough.put(componentName, known);
+        }
+
+        List<INode> path = new ArrayList<INode>();
+        Set<INode> visited = Collections.newSetFromMap(new IdentityHashMap<INode, Boolean>());
+        Boolean result = null;
+        INode current = node;
+        while (result == null) {
+            result = known.get(current);
+            if (result != null) {
+                break;
+            }
+            if (!visited.add(current)) {
+                // looping connections
+                result = Boolean.FALSE;
+                break;
+            }
+            path.add(current);
+            IConnection incoming = getFirstIncomingConnection(current);
+            if (incoming == null || getFirstIncomingConnection(incoming.getSource()) == null) {
+                result = Boolean.FALSE;
+            } else if (EConnectionType.ROUTE.equals(incoming.getLineStyle())
+                    && componentName.equals(incoming.getSource().getComponent().getName())) {
+                result = Boolean.TRUE;
+            } else {
+                current = incoming.getSource();
+            }
+        }
+        for (INode n : path) {
+            known.put(n, result);
+        }
+        return result;
+    }
+
+    private static IConnection getFirstIncomingConnection(INode node) {
+        List<? extends IConnection> incomingConnections = node.getIncomingConnections();
+        if (incomingConnections == null || incomingConnections.isEmpty()) {
+            return null;
+        }
+        return incomingConnections.get(0);
+    }
+}
@@ -12,6 +12,10 @@
 // ============================================================================
 package org.talend.camel.designer.runprocess.maven;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -23,12 +27,14 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.QualifiedName;
 import org.eclipse.jface.operation.IRunnableWithProgress;
 import org.eclipse.ui.PlatformUI;
 import org.talend.camel.designer.build.CreateMavenBundlePom;
 import org.talend.camel.designer.ui.wizards.actions.JavaCamelJobScriptsExportWSAction;
 import org.talend.commons.exception.ExceptionHandler;
 import org.talend.core.model.process.IProcess;
+import org.talend.core.model.process.ProcessUtils;
 import org.talend.core.model.properties.Property;
 import org.talend.core.model.repository.IRepositoryObject;
 import org.talend.core.model.repository.RepositoryObject;
@@ -57,6 +63,24 @@ import org.talend.designer.runprocess.maven.MavenJavaProcessor;
  */
 public class BundleJavaProcessor extends MavenJavaProcessor {
 
+    /**
+     * digest and local time stamp of the route source written by the last generation in this session
+     */
+    private static final QualifiedName GENERATED_SOURCE = new QualifiedName("org.talend.camel.designer", //$NON-NLS-1$
+            "generatedSource"); //$NON-NLS-1$
+
+    private static final class GeneratedSource {
+
+        private final byte[] digest;
+
+        private final long timeStamp;
+
+        private GeneratedSource(byte[] digest, long timeStamp) {
+            this.digest = digest;
+            this.timeStamp = timeStamp;
+        }
+    }
+
     @Override
     public void generateEsbFiles() throws ProcessorException {
         super.generateEsbFiles();
@@ -88,12 +112,19 @@ public class BundleJavaProcessor extends MavenJavaProcessor {
 
     @Override
     public void generateCode(boolean statistics, boolean trace, boolean javaProperties, int option) throws ProcessorException {
+        String packageFolder = JavaResourcesHelper.getJobClassPackageFolder(property.getItem(), true);
+        IProcess process = getProcess();
+        String className = ProcessUtils.isTestContainer(process) ? process.getName() + "Test" : process.getName(); //$NON-NLS-1$
+        IFile routeFile = getTalendJavaProject().getSrcSubFolder(null, packageFolder).getFile(className + ".java"); //$NON-NLS-1$
+        long previousTimeStamp = routeFile.getLocalTimeStamp();
+
         super.generateCode(statistics, trace, javaProperties, option);
 
         IProgressMonitor monitor = new NullProgressMonitor();
 
+        keepTimeStampIfUnchanged(routeFile, previousTimeStamp);
+
         // Delete microservice launcher for OSGi type running in studio
-        String packageFolder = JavaResourcesHelper.getJobClassPackageFolder(property.getItem(), true);
         IFolder srcFolder = getTalendJavaProject().getSrcSubFolder(null, packageFolder);
 
         List<String> msSourceFiles = Arrays.asList(
@@ -115,6 +146,46 @@ public class BundleJavaProcessor extends MavenJavaProcessor {
         }
     }
 
+    /**
+     * The route source is written by the designer processor, whatever its content. A route saved without any change in
+     * its code (layout, notes...) gets the same source: its time stamp is set back so that the Maven build does not see
+     * it stale and compile the route again. The new source is read once and compared with the digest kept from the
+     * previous generation, if the file has not been changed since.
+     */
+    private static void keepTimeStampIfUnchanged(IFile routeFile, long previousTimeStamp) {
+        byte[] digest = digest(routeFile);
+        if (digest == null) {
+            return;
+        }
+        try {
+            GeneratedSource previous = (GeneratedSource) routeFile.getSessionProperty(GENERATED_SOURCE);
+            if (previous != null && previous.timeStamp == previousTimeStamp && Arrays.equals(previous.digest, digest)) {
+                routeFile.setLocalTimeStamp(previousTimeStamp);
+            }
+            routeFile.setSessionProperty(GENERATED_SOURCE, new GeneratedSource(digest, routeFile.getLocalTimeStamp()));
+        } catch (CoreException e) {
+            ExceptionHandler.process(e);
+        }
+    }
+
+    private static byte[] digest(IFile file) {
+        if (!file.exists()) {
+            return null;
+        }
+        try (InputStream content = file.getContents(true)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = content.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (CoreException | IOException | NoSuchAlgorithmException e) {
+            ExceptionHandler.process(e);
+            return null;
+        }
+    }
+
     /*
      * (non-Javadoc)
      *
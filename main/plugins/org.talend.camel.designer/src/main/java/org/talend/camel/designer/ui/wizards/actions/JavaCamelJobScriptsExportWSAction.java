@@ -13,6 +13,7 @@
 package org.talend.camel.designer.ui.wizards.actions;
 
 import java.io.File;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
@@ -37,8 +38,11 @@ import org.talend.camel.designer.build.RouteBundleExportAction;
 import org.talend.camel.designer.ui.wizards.export.RouteDedicatedJobManager;
 import org.talend.camel.designer.ui.wizards.export.RouteJavaScriptOSGIForESBManager;
 import org.talend.camel.designer.util.CamelFeatureUtil;
+import org.talend.camel.designer.util.ExportProcessCache;
+import org.talend.camel.designer.util.RepositoryObjectIndex;
 import org.talend.camel.model.CamelRepositoryNodeType;
 import org.talend.camel.model.RouteProcessingExchange;
+import org.talend.commons.exception.ExceptionHandler;
 import org.talend.commons.exception.PersistenceException;
 import org.talend.commons.ui.runtime.CommonUIPlugin;
 import org.talend.commons.utils.io.FilesUtils;
@@ -57,7 +61,6 @@ import org.talend.core.model.repository.IRepositoryObject;
 import org.talend.core.model.repository.IRepositoryViewObject;
 import org.talend.core.model.repository.RepositoryObject;
 import org.talend.core.repository.constants.FileConstants;
-import org.talend.core.repository.model.ProxyRepositoryFactory;
 import org.talend.core.runtime.CoreRuntimePlugin;
 import org.talend.core.runtime.maven.MavenUrlHelper;
 import org.talend.core.runtime.process.IBuildJobHandler;
@@ -130,6 +133,9 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
 
     private boolean buildProject = false;
 
+    /** process models shared by the steps of the running export */
+    private ExportProcessCache processCache;
+
     public JavaCamelJobScriptsExportWSAction(IRepositoryObject routeObject, String version, String destinationKar,
             boolean addStatisticsCode) {
         // use RepositoryObject instead of any possible instance of RepositoryObject (which will reload the property at
@@ -250,6 +256,16 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
 
     @Override
     public final void run(IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
+        processCache = ExportProcessCache.create();
+        try {
+            export(monitor);
+        } finally {
+            processCache.logStatistics();
+            processCache = null;
+        }
+    }
+
+    private void export(IProgressMonitor monitor) throws InvocationTargetException, InterruptedException {
 
         this.monitor = monitor;
         String groupId = getGroupId();
@@ -311,7 +327,7 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
 
             if (featuresModel.addBundle(routeModel)) {
 
-                CamelFeatureUtil.addFeatureAndBundles(routeProcess, featuresModel);
+                CamelFeatureUtil.addFeatureAndBundles(routeProcess, featuresModel, processCache);
                 featuresModel.setConfigName(routeObject.getLabel());
                 featuresModel.setContexts(JobContextUtils.getContextsMap(routeProcess));
 
@@ -391,6 +407,9 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
     protected void collectBuildArtifacts() throws IOException {
 
         IRunProcessService runProcessService = CorePlugin.getDefault().getRunProcessService();
+        // files of the target folders by extension, each folder is walked once
+        Map<File, Map<String, List<File>>> targetFiles = new HashMap<>();
+        List<String> missingArtifacts = new ArrayList<>();
 
         for (Map.Entry<IRepositoryViewObject, Map<String, File>> e : buildArtifactsMap.entrySet()) {
 
@@ -399,6 +418,9 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
 
             ITalendProcessJavaProject talendProcessJavaProject =
                     runProcessService.getTalendJobJavaProject(repoObject.getProperty());
+            File targetFolder = talendProcessJavaProject.getTargetFolder().getLocation().toFile();
+            Map<String, List<File>> filesByExtension =
+                    targetFiles.computeIfAbsent(targetFolder, JavaCamelJobScriptsExportWSAction::getFilesByExtension);
 
             String bundleVersion = null;
             if (repoObject != null && JobUtils.isJob(repoObject.getProperty())) {
@@ -418,24 +440,50 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
                 }
                 
                 File destination = e1.getValue();
+                if (destination == null || StringUtils.isBlank(destination.getPath())) {
+                    continue;
+                }
 
-                List<File> fileList = new ArrayList<File>();
-                FilesUtils
-                        .getAllFilesFromFolder(talendProcessJavaProject.getTargetFolder().getLocation().toFile(),
-                                fileList, null);
-                if (!fileList.isEmpty()) {
-                    for (File f : fileList) {
-                        if (f.isFile() && f.getName().endsWith(extension) && destination != null
-                                && StringUtils.isNotBlank(destination.getPath())) {
-                            if (!"classpath.jar".equalsIgnoreCase(f.getName())) {
-                                FilesUtils.copyFile(f, destination);
-                                break;
-                            }
+                File artifact = null;
+                List<File> files = filesByExtension.get(getFileExtension(extension));
+                if (files != null) {
+                    for (File f : files) {
+                        if (f.getName().endsWith(extension)) {
+                            artifact = f;
+                            break;
                         }
                     }
                 }
+                if (artifact != null) {
+                    FilesUtils.copyFile(artifact, destination);
+                } else {
+                    missingArtifacts.add(repoObject.getLabel() + " (*" + extension + " in " + targetFolder + ')');
+                }
+            }
+        }
+
+        if (!missingArtifacts.isEmpty()) {
+            ExceptionHandler.process(new FileNotFoundException("Build artifacts not found: " + missingArtifacts));
+        }
+    }
+
+    private static Map<String, List<File>> getFilesByExtension(File folder) {
+        List<File> fileList = new ArrayList<File>();
+        FilesUtils.getAllFilesFromFolder(folder, fileList, null);
+        Map<String, List<File>> filesByExtension = new HashMap<>();
+        for (File f : fileList) {
+            if (f.isFile() && !"classpath.jar".equalsIgnoreCase(f.getName())) {
+                filesByExtension.computeIfAbsent(getFileExtension(f.getName()), k -> new ArrayList<>()).add(f);
             }
         }
+        return filesByExtension;
+    }
+
+    /**
+     * @return what follows the last dot of the name, the name itself without any dot
+     */
+    private static String getFileExtension(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
     }
 
     protected void processResults(FeaturesModel featuresModel, IProgressMonitor monitor)
@@ -640,7 +688,7 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
                                     .findElementParameterByName(EParameterName.PROCESS_TYPE.getName() + ':'
                                             + EParameterName.PROCESS_TYPE_CONTEXT.getName(), node)
                                     .getValue());
-                    CamelFeatureUtil.addFeatureAndBundles(routeletProcess, featuresModel);
+                    CamelFeatureUtil.addFeatureAndBundles(routeletProcess, featuresModel, processCache);
                     exportAllReferenceJobs(routeName, routeletProcess);
                     exportAllReferenceRoutelets(routeName, routeletProcess, routelets);
                 }
@@ -651,16 +699,12 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
     private static IRepositoryViewObject getJobRepositoryNode(String jobId, ERepositoryObjectType type)
             throws PersistenceException {
         String projectLable = ProcessUtils.getProjectLabelFromItemId(jobId);
-        List<IRepositoryViewObject> list = new ArrayList<>();
-        List<Project> projects = ProjectManager.getInstance().getAllReferencedProjects();
-        for (Project p : projects) {
-            list.addAll(ProxyRepositoryFactory.getInstance().getAll(p, type));
-        }
+        List<Project> projects = new ArrayList<>(ProjectManager.getInstance().getAllReferencedProjects());
+        projects.add(ProjectManager.getInstance().getCurrentProject());
 
-        list.addAll(ProxyRepositoryFactory.getInstance().getAll(type));
-
-        for (IRepositoryViewObject job : list) {
-            if (job.getId().equals(jobId)) {
+        for (Project p : projects) {
+            IRepositoryViewObject job = RepositoryObjectIndex.INSTANCE.getById(p, type, jobId);
+            if (job != null) {
                 if (projectLable == null || StringUtils.equals(projectLable, job.getProjectLabel())) {
                     return new RepositoryObject(job.getProperty());
                 }
@@ -675,13 +719,9 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
             return ProjectManager.getInstance().getProjectFromProjectTechLabel(projectLable);
         }
         // Check reference project first
-        List<Project> projects = ProjectManager.getInstance().getAllReferencedProjects();
-        for (Project p : projects) {
-            for (IRepositoryViewObject job : ProxyRepositoryFactory.getInstance().getAll(p, type)) {
-                if (job.getId().equals(jobId)) {
-                    return p;
-                }
-            }
+        Project project = RepositoryObjectIndex.INSTANCE.getReferencedProject(type, jobId);
+        if (project != null) {
+            return project;
         }
         // If the job is not from reference project, then it is from current project
         return ProjectManager.getInstance().getCurrentProject();
@@ -770,6 +810,7 @@ public class JavaCamelJobScriptsExportWSAction implements IRunnableWithProgress
         talendJobManager.setDestinationPath(filePath.getAbsolutePath());
         talendJobManager.setSubjobImportPackages(subjobImportPackages);
         talendJobManager.setSubjobRequireBundles(subjobRequireBundles);
+        talendJobManager.setProcessCache(processCache);
 
         RepositoryNode node = new RepositoryNode(object, null, ENodeType.REPOSITORY_ELEMENT);
         JobExportAction action = new RouteBundleExportAction(Collections.singletonList(node), version, bundleVersion,
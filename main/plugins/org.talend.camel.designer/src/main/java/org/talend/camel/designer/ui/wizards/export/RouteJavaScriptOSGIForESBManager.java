@@ -43,6 +43,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.IPath;
 import org.talend.camel.core.model.camelProperties.CamelProcessItem;
+import org.talend.camel.designer.util.ExportProcessCache;
 import org.talend.core.GlobalServiceRegister;
 import org.talend.core.model.general.ModuleNeeded;
 import org.talend.core.model.process.ElementParameterParser;
@@ -54,13 +55,11 @@ import org.talend.core.runtime.process.TalendProcessOptionConstants;
 import org.talend.designer.camel.dependencies.core.DependenciesResolver;
 import org.talend.designer.camel.resource.core.model.ResourceDependencyModel;
 import org.talend.designer.camel.resource.core.util.RouteResourceUtil;
-import org.talend.designer.core.IDesignerCoreService;
 import org.talend.designer.core.model.utils.emf.talendfile.ConnectionType;
 import org.talend.designer.core.model.utils.emf.talendfile.NodeType;
 import org.talend.designer.runprocess.IProcessor;
 import org.talend.designer.runprocess.IRunProcessService;
 import org.talend.librariesmanager.model.ModulesNeededProvider;
-import org.talend.repository.RepositoryPlugin;
 import org.talend.repository.constants.BuildJobConstants;
 import org.talend.repository.documentation.ExportFileResource;
 import org.talend.repository.ui.wizards.exportjob.scriptsmanager.esb.DataSourceConfig;
@@ -115,6 +114,9 @@ public class RouteJavaScriptOSGIForESBManager extends AdaptedJobJavaScriptOSGIFo
     private Map<String, String> subjobImportPackages = null;
     private Map<String, String> subjobRequireBundles = null;
 
+    /** process models of the export, null to load them */
+    private ExportProcessCache processCache;
+
     public RouteJavaScriptOSGIForESBManager(Map<ExportChoice, Object> exportChoiceMap, String contextName,
             Collection<String> routelets, Set<String> modulesProvidedByFeatures) {
         super(exportChoiceMap, contextName, null, IProcessor.NO_STATISTICS, IProcessor.NO_TRACES);
@@ -175,6 +177,10 @@ public class RouteJavaScriptOSGIForESBManager extends AdaptedJobJavaScriptOSGIFo
         this.subjobRequireBundles = requireBundles;
     }
 
+    public void setProcessCache(ExportProcessCache processCache) {
+        this.processCache = processCache;
+    }
+
     public static String getClassName(ProcessItem processItem) {
         return getPackageName(processItem) + PACKAGE_SEPARATOR + processItem.getProperty().getLabel();
     }
@@ -208,7 +214,7 @@ public class RouteJavaScriptOSGIForESBManager extends AdaptedJobJavaScriptOSGIFo
         // https://jira.talendforge.org/browse/TESB-7893
         Collection<IPath> routeResource = RouteResourceUtil.synchronizeRouteResource(processItem);
         if (routeResource != null) {
-            for (IPath path : RouteResourceUtil.synchronizeRouteResource(processItem)) {
+            for (IPath path : routeResource) {
                 osgiResource
                         .addResource(path.removeLastSegments(1).makeRelativeTo(srcPath).toString(),
                                 path.toFile().toURI().toURL());
@@ -314,8 +320,7 @@ public class RouteJavaScriptOSGIForESBManager extends AdaptedJobJavaScriptOSGIFo
                 }
             }
 
-        IDesignerCoreService designerService = RepositoryPlugin.getDefault().getDesignerCoreService();
-        IProcess process = designerService.getProcessFromProcessItem(processItem, false);
+        IProcess process = ExportProcessCache.getProcessFromProcessItem(processCache, processItem);
 
         for (String lib : process.getNeededLibraries(TalendProcessOptionConstants.MODULES_WITH_CHILDREN)) {
             if (lib != null && lib.matches("camel-jsonpath-(.*)jar")){
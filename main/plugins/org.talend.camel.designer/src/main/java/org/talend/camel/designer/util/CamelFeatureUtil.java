@@ -34,9 +34,7 @@ import org.talend.core.model.properties.Property;
 import org.talend.core.model.repository.ERepositoryObjectType;
 import org.talend.core.model.repository.IRepositoryViewObject;
 import org.talend.core.model.utils.JavaResourcesHelper;
-import org.talend.core.repository.model.ProxyRepositoryFactory;
 import org.talend.core.runtime.process.TalendProcessOptionConstants;
-import org.talend.designer.core.IDesignerCoreService;
 import org.talend.designer.core.model.components.EParameterName;
 import org.talend.designer.core.model.utils.emf.talendfile.ConnectionType;
 import org.talend.designer.core.model.utils.emf.talendfile.ElementParameterType;
@@ -47,8 +45,6 @@ import org.talend.designer.maven.utils.PomIdsHelper;
 import org.talend.designer.publish.core.models.FeatureModel;
 import org.talend.designer.publish.core.models.FeaturesModel;
 import org.talend.designer.runprocess.ProcessorUtilities;
-import org.talend.repository.ProjectManager;
-import org.talend.repository.RepositoryPlugin;
 import org.talend.repository.model.IRepositoryNode;
 import org.talend.repository.model.RepositoryNode;
 import org.talend.repository.utils.EmfModelUtils;
@@ -299,11 +295,12 @@ public final class CamelFeatureUtil {
         }
     }
 
-    private static void addChildSpecificFeatures(Collection<FeatureModel> features, ProcessItem routeProcess, IDesignerCoreService designerService) {
+    private static void addChildSpecificFeatures(Collection<FeatureModel> features, ProcessItem routeProcess,
+            ExportProcessCache processCache) {
         Set<JobInfo> childrenJobInfo = ProcessorUtilities.getChildrenJobInfo(routeProcess);
         for(JobInfo jobInfo: childrenJobInfo) {
             //APPINT-34618 add pax-jdbc-mssql feature if mssql is used in child job.
-            if(designerService.getProcessFromProcessItem(jobInfo.getProcessItem(), false)
+            if(ExportProcessCache.getProcessFromProcessItem(processCache, jobInfo.getProcessItem())
                     .getNeededLibraries(TalendProcessOptionConstants.MODULES_DEFAULT).stream()
                     .anyMatch(lib -> lib.matches("mssql-jdbc.jar"))) {
                 features.addAll( Arrays.asList(new FeatureModel[] { new FeatureModel("pax-jdbc-mssql") }));
@@ -319,8 +316,17 @@ public final class CamelFeatureUtil {
 	 * @param featuresModel
 	 */
     public static void addFeatureAndBundles(ProcessItem routeProcess, FeaturesModel featuresModel) {
-        IDesignerCoreService designerService = RepositoryPlugin.getDefault().getDesignerCoreService();
-        IProcess process = designerService.getProcessFromProcessItem(routeProcess, false);
+        addFeatureAndBundles(routeProcess, featuresModel, null);
+    }
+
+    /**
+     * Add feature and bundle to Feature Model
+     *
+     * @param processCache the process models of the export, null to load them
+     */
+    public static void addFeatureAndBundles(ProcessItem routeProcess, FeaturesModel featuresModel,
+            ExportProcessCache processCache) {
+        IProcess process = ExportProcessCache.getProcessFromProcessItem(processCache, routeProcess);
 
         Collection<FeatureModel> features = new HashSet<FeatureModel>();
         for (String lib : process.getNeededLibraries(TalendProcessOptionConstants.MODULES_WITH_CHILDREN)) {
@@ -330,7 +336,7 @@ public final class CamelFeatureUtil {
             }
         }
 
-        addChildSpecificFeatures(features, routeProcess, designerService);
+        addChildSpecificFeatures(features, routeProcess, processCache);
         addNodesSpecialFeatures(features, routeProcess.getProcess());
         addConnectionsSpecialFeatures(features, routeProcess.getProcess());
 
@@ -372,27 +378,11 @@ public final class CamelFeatureUtil {
         IRepositoryNode referencedJobNode = null;
         Project referenceProject = null;
         try {
-            List<Project> projects = ProjectManager.getInstance().getAllReferencedProjects();
-            if (projects == null) {
-                return defaultProject;
-            }
-            for (Project p : projects) {
-                List<IRepositoryViewObject> jobs = ProxyRepositoryFactory.getInstance().getAll(
-                		p, ERepositoryObjectType.PROCESS);
-                if (jobs == null) {
-                    continue;
-                }
-                for (IRepositoryViewObject job : jobs) {
-                    if (job.getId().equals(jobId)) {
-                        referencedJobNode = new RepositoryNode(
-                        		job, null, IRepositoryNode.ENodeType.REPOSITORY_ELEMENT);
-                        referenceProject = p;
-                        break;
-                    }
-                }
-                if (referenceProject != null) {
-                    break;
-                }
+            referenceProject = RepositoryObjectIndex.INSTANCE.getReferencedProject(ERepositoryObjectType.PROCESS, jobId);
+            if (referenceProject != null) {
+                IRepositoryViewObject job = RepositoryObjectIndex.INSTANCE.getById(
+                        referenceProject, ERepositoryObjectType.PROCESS, jobId);
+                referencedJobNode = new RepositoryNode(job, null, IRepositoryNode.ENodeType.REPOSITORY_ELEMENT);
             }
         } catch (PersistenceException e) {
             return defaultProject;
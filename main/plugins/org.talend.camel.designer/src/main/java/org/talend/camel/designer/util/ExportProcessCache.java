@@ -0,0 +1,127 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.camel.designer.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.log4j.Logger;
+import org.talend.core.model.process.IProcess;
+import org.talend.core.model.properties.ProcessItem;
+import org.talend.core.model.properties.Property;
+import org.talend.repository.RepositoryPlugin;
+
+/**
+ * Process models of the items used by an export, by item id and version, so that the route and its child jobs are
+ * loaded once for the manifest, the features and the bundles. Each export has its own cache, given to the steps that
+ * need the models and dropped at its end, so that an export never sees the models loaded before another one started.
+ * At most {@link #MAX_SIZE} of them are kept.
+ */
+public final class ExportProcessCache {
+
+    private static final Logger LOG = Logger.getLogger(ExportProcessCache.class);
+
+    /**
+     * maximum number of process models kept by an export, the others are loaded each time they are needed
+     */
+    public static final String MAX_SIZE = "talend.esb.export.processCacheSize"; //$NON-NLS-1$
+
+    private final Function<ProcessItem, IProcess> loader;
+
+    private final int maxSize;
+
+    private final ConcurrentMap<String, IProcess> processes = new ConcurrentHashMap<String, IProcess>();
+
+    private final AtomicLong loads = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    /** graphical nodes of the kept models, to see what the cache holds */
+    private final AtomicInteger nodes = new AtomicInteger();
+
+    public ExportProcessCache(Function<ProcessItem, IProcess> loader, int maxSize) {
+        this.loader = loader;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @return a cache for a new export, loading the models from the designer
+     */
+    public static ExportProcessCache create() {
+        return new ExportProcessCache(ExportProcessCache::loadProcess, Integer.getInteger(MAX_SIZE, 200));
+    }
+
+    /**
+     * @param cache the cache of the running export, null to load the model
+     * @return the process model of the item
+     */
+    public static IProcess getProcessFromProcessItem(ExportProcessCache cache, ProcessItem item) {
+        if (cache == null) {
+            return loadProcess(item);
+        }
+        return cache.getProcess(item);
+    }
+
+    /**
+     * log what the cache did at the end of its export
+     */
+    public void logStatistics() {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Export process models: " + getLoads() + " loaded, " + getHits() //$NON-NLS-1$ //$NON-NLS-2$
+                    + " reused, " + size() + " kept with " + getNodes() + " nodes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        }
+    }
+
+    private static IProcess loadProcess(ProcessItem item) {
+        return RepositoryPlugin.getDefault().getDesignerCoreService().getProcessFromProcessItem(item, false);
+    }
+
+    public IProcess getProcess(ProcessItem item) {
+        Property property = item.getProperty();
+        String key = property.getId() + ':' + property.getVersion();
+        IProcess process = processes.get(key);
+        if (process != null) {
+            hits.incrementAndGet();
+            return process;
+        }
+        loads.incrementAndGet();
+        process = loader.apply(item);
+        if (process != null && processes.size() < maxSize) {
+            IProcess previous = processes.putIfAbsent(key, process);
+            if (previous != null) {
+                return previous;
+            }
+            nodes.addAndGet(process.getGraphicalNodes().size());
+        }
+        return process;
+    }
+
+    public long getLoads() {
+        return loads.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public int size() {
+        return processes.size();
+    }
+
+    public int getNodes() {
+        return nodes.get();
+    }
+}
@@ -0,0 +1,214 @@
+// ============================================================================
+//
+// Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+//
+// This source code is available under agreement available at
+// %InstallDIR%\features\org.talend.rcp.branding.%PRODUCTNAME%\%PRODUCTNAME%license.txt
+//
+// You should have received a copy of the agreement
+// along with this program; if not, write to Talend SA
+// 9 rue Pages 92150 Suresnes, France
+//
+// ============================================================================
+package org.talend.camel.designer.util;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.talend.commons.exception.PersistenceException;
+import org.talend.core.CorePlugin;
+import org.talend.core.context.Context;
+import org.talend.core.context.RepositoryContext;
+import org.talend.core.model.general.Project;
+import org.talend.core.model.properties.Item;
+import org.talend.core.model.repository.ERepositoryObjectType;
+import org.talend.core.model.repository.IRepositoryViewObject;
+import org.talend.core.repository.model.ProxyRepositoryFactory;
+import org.talend.repository.ProjectManager;
+
+/**
+ * Repository objects of a project by id and by label, per object type, so that the exports don't scan all the
+ * objects of all the referenced projects for every referenced job. The objects of a type are dropped as soon as the
+ * repository reports a change of one of its items, and all of them when the user logs on again or switches project.
+ */
+public final class RepositoryObjectIndex {
+
+    public static final RepositoryObjectIndex INSTANCE = new RepositoryObjectIndex(null);
+
+    /**
+     * where the objects are read from
+     */
+    public interface Source {
+
+        List<IRepositoryViewObject> getAll(Project project, ERepositoryObjectType type) throws PersistenceException;
+    }
+
+    private static final class ProjectObjects {
+
+        private final Map<String, IRepositoryViewObject> byId = new HashMap<String, IRepositoryViewObject>();
+
+        private final Map<String, IRepositoryViewObject> byLabel = new HashMap<String, IRepositoryViewObject>();
+
+        private ProjectObjects(List<IRepositoryViewObject> objects) {
+            if (objects == null) {
+                return;
+            }
+            for (IRepositoryViewObject object : objects) {
+                // first one wins, as the lookups used to return it
+                if (!byId.containsKey(object.getId())) {
+                    byId.put(object.getId(), object);
+                }
+                if (!byLabel.containsKey(object.getLabel())) {
+                    byLabel.put(object.getLabel(), object);
+                }
+            }
+        }
+    }
+
+    /** by type, then by project technical label */
+    private final ConcurrentMap<ERepositoryObjectType, Map<String, ProjectObjects>> objects =
+            new ConcurrentHashMap<ERepositoryObjectType, Map<String, ProjectObjects>>();
+
+    /** null for the repository factory, listened to */
+    private final Source source;
+
+    private boolean listening;
+
+    /** the logon the objects were read in, for the repository factory */
+    private RepositoryContext repositoryContext;
+
+    private Project repositoryProject;
+
+    /**
+     * @param source the objects, not listened to: {@link #invalidate(ERepositoryObjectType)} must be called when they
+     * change
+     */
+    public RepositoryObjectIndex(Source source) {
+        this.source = source;
+    }
+
+    /**
+     * @return the object of the project having this id, null if none
+     */
+    public IRepositoryViewObject getById(Project project, ERepositoryObjectType type, String id)
+            throws PersistenceException {
+        return getObjects(project, type).byId.get(id);
+    }
+
+    /**
+     * @return the object of the project having this label, null if none
+     */
+    public IRepositoryViewObject getByLabel(Project project, ERepositoryObjectType type, String label)
+            throws PersistenceException {
+        return getObjects(project, type).byLabel.get(label);
+    }
+
+    /**
+     * @return the first referenced project having an object with this id, null if none
+     */
+    public Project getReferencedProject(ERepositoryObjectType type, String id) throws PersistenceException {
+        List<Project> projects = ProjectManager.getInstance().getAllReferencedProjects();
+        if (projects != null) {
+            for (Project project : projects) {
+                if (getById(project, type, id) != null) {
+                    return project;
+                }
+            }
+        }
+        return null;
+    }
+
+    private ProjectObjects getObjects(Project project, ERepositoryObjectType type) throws PersistenceException {
+        if (source == null) {
+            checkRepositoryContext();
+        }
+        Map<String, ProjectObjects> typeObjects =
+                objects.computeIfAbsent(type, t -> new ConcurrentHashMap<String, ProjectObjects>());
+        try {
+            // read under the entry lock: an invalidation drops the whole map of the type, so a read done before it
+            // never ends up in the map used by the next lookups
+            return typeObjects.computeIfAbsent(project.getTechnicalLabel(), label -> {
+                try {
+                    return new ProjectObjects(getAll(project, type));
+                } catch (PersistenceException e) {
+                    throw new ReadException(e);
+                }
+            });
+        } catch (ReadException e) {
+            throw (PersistenceException) e.getCause();
+        }
+    }
+
+    private static final class ReadException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private ReadException(PersistenceException cause) {
+            super(cause);
+        }
+    }
+
+    /**
+     * drop all the objects after a logoff, a new logon or a project switch
+     */
+    private synchronized void checkRepositoryContext() {
+        RepositoryContext context = (RepositoryContext) CorePlugin.getContext().getProperty(Context.REPOSITORY_CONTEXT_KEY);
+        Project project = context == null ? null : context.getProject();
+        if (context != repositoryContext || project != repositoryProject) {
+            clear();
+            repositoryContext = context;
+            repositoryProject = project;
+        }
+    }
+
+    private List<IRepositoryViewObject> getAll(Project project, ERepositoryObjectType type)
+            throws PersistenceException {
+        if (source != null) {
+            return source.getAll(project, type);
+        }
+        registerListener();
+        return ProxyRepositoryFactory.getInstance().getAll(project, type);
+    }
+
+    /**
+     * drop the objects of the given type
+     */
+    public void invalidate(ERepositoryObjectType type) {
+        if (type == null) {
+            clear();
+        } else {
+            objects.remove(type);
+        }
+    }
+
+    public void clear() {
+        objects.clear();
+    }
+
+    private synchronized void registerListener() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+        ProxyRepositoryFactory.getInstance().addPropertyChangeListener(new PropertyChangeListener() {
+
+            @Override
+            public void propertyChange(PropertyChangeEvent event) {
+                Object newValue = event.getNewValue();
+                if (newValue instanceof Item) {
+                    invalidate(ERepositoryObjectType.getItemType((Item) newValue));
+                } else if (newValue instanceof IRepositoryViewObject) {
+                    invalidate(((IRepositoryViewObject) newValue).getRepositoryObjectType());
+                } else {
+                    // imports, deletions, restores...
+                    clear();
+                }
+            }
+        });
+    }
+}
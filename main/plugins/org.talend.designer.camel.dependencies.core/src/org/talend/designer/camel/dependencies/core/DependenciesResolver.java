@@ -3,12 +3,12 @@ package org.talend.designer.camel.dependencies.core;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
 
 import org.talend.commons.exception.ExceptionHandler;
 import org.talend.commons.exception.PersistenceException;
-import org.talend.core.model.components.ComponentUtilities;
 import org.talend.core.model.process.EConnectionType;
 import org.talend.core.model.process.ElementParameterParser;
 import org.talend.core.model.process.IConnection;
@@ -17,7 +17,6 @@ import org.talend.core.model.process.INode;
 import org.talend.core.model.process.IProcess2;
 import org.talend.core.model.properties.ProcessItem;
 import org.talend.core.model.relationship.RelationshipItemBuilder;
-import org.talend.core.model.repository.IRepositoryViewObject;
 import org.talend.core.model.utils.JavaResourcesHelper;
 import org.talend.core.repository.model.ProxyRepositoryFactory;
 import org.talend.designer.camel.dependencies.core.ext.ExtensionPointsReader;
@@ -54,14 +53,19 @@ public class DependenciesResolver {
 
     private Collection<BundleClasspath> userBundleClasspaths;
 
+    /**
+     * items already added to the collections above, by header and label (same ordering key as SORTER)
+     */
+    private final Map<String, ManifestItem> addedItems = new HashMap<String, ManifestItem>();
+
 	public DependenciesResolver(final ProcessItem item) {
         for (ImportPackage importPackage : ExtensionPointsReader.INSTANCE.getImportPackages((NodeType) null)) {
             importPackage.setDescription(Messages.ExDependenciesResolver_commonImportPackage);
-            importPackages.add(importPackage);
+            addItem(importPackages, importPackage);
         }
         for (RequireBundle requireBundle : ExtensionPointsReader.INSTANCE.getRequireBundles((NodeType) null)) {
             requireBundle.setDescription(Messages.ExDependenciesResolver_commonRequireBundle);
-            requireBundles.add(requireBundle);
+            addItem(requireBundles, requireBundle);
         }
 
         final Map<?, ?> additionProperties = item.getProperty().getAdditionalProperties().map();
@@ -98,11 +102,11 @@ public class DependenciesResolver {
     public DependenciesResolver(final IProcess2 process) {
         for (ImportPackage importPackage : ExtensionPointsReader.INSTANCE.getImportPackages((INode) null)) {
             importPackage.setDescription(Messages.ExDependenciesResolver_commonImportPackage);
-            importPackages.add(importPackage);
+            addItem(importPackages, importPackage);
         }
         for (RequireBundle requireBundle : ExtensionPointsReader.INSTANCE.getRequireBundles((INode) null)) {
             requireBundle.setDescription(Messages.ExDependenciesResolver_commonRequireBundle);
-            requireBundles.add(requireBundle);
+            addItem(requireBundles, requireBundle);
         }
 
         final Map<?, ?> additionProperties = process.getAdditionalProperties();
@@ -134,64 +138,22 @@ public class DependenciesResolver {
         exportPackages.addAll(DependenciesCoreUtil.getStoredExportPackages(additionProperties));
     }
 
-    private static boolean isActivate(final Collection<ElementParameterType> parameters) {
-        for (ElementParameterType cpType : parameters) {
-            if ("ACTIVATE".equals(cpType.getName())) { //$NON-NLS-1$
-                return Boolean.parseBoolean(cpType.getValue());
-            }
-        }
-        return true;
-    }
-
     /**
      * most of the datas of a node are coming from extension point except the
      * cTalendJob
      */
     @SuppressWarnings("unchecked")
     private void handleAllNodeTypes(final Collection<NodeType> nodes) {
-
-        ProxyRepositoryFactory factory = ProxyRepositoryFactory.getInstance();
-
         for (NodeType n : nodes) {
-            String routeletId = ComponentUtilities.getNodePropertyValue(n,
-                    EParameterName.PROCESS_TYPE.getName() + ':' + EParameterName.PROCESS_TYPE_PROCESS.getName());
+            String routeletId = RouteletNodesCache.getRouteletId(n);
             if (null != routeletId) {
-
-                String routeletVersion = ComponentUtilities.getNodePropertyValue(n,
-                        EParameterName.PROCESS_TYPE.getName() + ':' + EParameterName.PROCESS_TYPE_VERSION.getName());
-
-                if (routeletVersion == null) {
-                    routeletVersion = RelationshipItemBuilder.LATEST_VERSION;
-                }
-
-                if (factory != null) {
-                    IRepositoryViewObject found = null;
-
-                    try {
-                        if (RelationshipItemBuilder.LATEST_VERSION.equals(routeletVersion)) {
-                            found = factory.getLastVersion(routeletId);
-                        } else {
-                            for (IRepositoryViewObject repositoryViewObject : factory.getAllVersion(routeletId)) {
-                                if (routeletVersion.equals(repositoryViewObject.getVersion())) {
-                                    found = repositoryViewObject;
-                                    break;
-                                }
-                            }
-                        }
-                    } catch (PersistenceException e) {
-                        e.printStackTrace();
-                    }
-
-                    if (found != null) {
-                        ProcessItem item = (ProcessItem) found.getProperty().getItem();
-                        if (item != null) {
-                            handleAllNodeTypes(item.getProcess().getNode());
-                        }
-                    }
+                // nodes of the routelet and its nested routelets, resolved once per routelet version
+                for (NodeType routeletNode : RouteletNodesCache.INSTANCE.getNodes(routeletId,
+                        RouteletNodesCache.getRouteletVersion(n))) {
+                    handleNode(routeletNode);
                 }
-
             } else {
-                if (isActivate(n.getElementParameter())) {
+                if (RouteletNodesCache.isActivate(n.getElementParameter())) {
                     handleNode(n);
                 }
             }
@@ -214,14 +176,15 @@ public class DependenciesResolver {
         }
     }
 
-    private static <T extends ManifestItem> T addItem(final Collection<T> items, final T newItem) {
-        if (!items.add(newItem)) {
-            for (T obj : items) {
-                if (newItem.equals(obj)) {
-                    return obj;
-                }
-            }
+    @SuppressWarnings("unchecked")
+    private <T extends ManifestItem> T addItem(final Collection<T> items, final T newItem) {
+        final String key = newItem.getHeader() + ':' + newItem.toString();
+        final ManifestItem added = addedItems.get(key);
+        if (added != null) {
+            return (T) added;
         }
+        items.add(newItem);
+        addedItems.put(key, newItem);
         return newItem;
     }
 
@@ -265,7 +228,7 @@ public class DependenciesResolver {
      */
     private void handleAllConnectionTypes(Collection<ConnectionType> connections) {
         for (ConnectionType connection : connections) {
-            if (isActivate(connection.getElementParameter())
+            if (RouteletNodesCache.isActivate(connection.getElementParameter())
                 && EConnectionType.ROUTE_WHEN.getName().equals(connection.getConnectorName())) {
                 final String languageName = handleROUTEWHENconnection(connection.getElementParameter());
                 if (languageName != null) {
@@ -0,0 +1,189 @@
+package org.talend.designer.camel.dependencies.core;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.talend.commons.exception.ExceptionHandler;
+import org.talend.commons.exception.PersistenceException;
+import org.talend.core.model.components.ComponentUtilities;
+import org.talend.core.model.properties.Item;
+import org.talend.core.model.properties.ProcessItem;
+import org.talend.core.model.relationship.RelationshipItemBuilder;
+import org.talend.core.model.repository.IRepositoryViewObject;
+import org.talend.core.repository.model.ProxyRepositoryFactory;
+import org.talend.designer.core.model.components.EParameterName;
+import org.talend.designer.core.model.utils.emf.talendfile.ElementParameterType;
+import org.talend.designer.core.model.utils.emf.talendfile.NodeType;
+
+/**
+ * Active nodes of the routelets used by routes, including the nodes of their nested routelets,
+ * by routelet id and version. Entries are dropped as soon as the repository reports a change
+ * of one of the routelet items they were resolved from.
+ */
+final class RouteletNodesCache {
+
+    static final RouteletNodesCache INSTANCE = new RouteletNodesCache();
+
+    private static final String ROUTELET_ID_PARAMETER =
+        EParameterName.PROCESS_TYPE.getName() + ':' + EParameterName.PROCESS_TYPE_PROCESS.getName();
+    private static final String ROUTELET_VERSION_PARAMETER =
+        EParameterName.PROCESS_TYPE.getName() + ':' + EParameterName.PROCESS_TYPE_VERSION.getName();
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+
+    private boolean listening;
+
+    private static final class Entry {
+
+        private final Collection<NodeType> nodes;
+
+        /** ids of the routelet and of all its nested routelets */
+        private final Set<String> itemIds;
+
+        private Entry(Collection<NodeType> nodes, Set<String> itemIds) {
+            this.nodes = nodes;
+            this.itemIds = itemIds;
+        }
+    }
+
+    private RouteletNodesCache() {
+    }
+
+    static String getRouteletId(final NodeType node) {
+        return ComponentUtilities.getNodePropertyValue(node, ROUTELET_ID_PARAMETER);
+    }
+
+    static String getRouteletVersion(final NodeType node) {
+        final String routeletVersion = ComponentUtilities.getNodePropertyValue(node, ROUTELET_VERSION_PARAMETER);
+        return routeletVersion == null ? RelationshipItemBuilder.LATEST_VERSION : routeletVersion;
+    }
+
+    /**
+     * @return the active nodes of the routelet and its nested routelets, empty if the routelet can't be found
+     */
+    Collection<NodeType> getNodes(final String routeletId, final String routeletVersion) {
+        return resolve(routeletId, routeletVersion, new LinkedHashSet<String>()).nodes;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry resolve(final String routeletId, final String routeletVersion, final Set<String> resolving) {
+        final String key = routeletId + ':' + routeletVersion;
+        Entry entry = entries.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        final ProcessItem item = findRouteletItem(routeletId, routeletVersion);
+        if (item == null) {
+            return new Entry(Collections.<NodeType> emptyList(), Collections.singleton(routeletId));
+        }
+
+        resolving.add(key);
+        final Collection<NodeType> nodes = new ArrayList<NodeType>();
+        final Set<String> itemIds = new HashSet<String>();
+        itemIds.add(routeletId);
+        for (Object o : item.getProcess().getNode()) {
+            final NodeType n = (NodeType) o;
+            final String nestedId = getRouteletId(n);
+            if (null != nestedId) {
+                final String nestedVersion = getRouteletVersion(n);
+                if (resolving.contains(nestedId + ':' + nestedVersion)) {
+                    // routelet using itself, directly or through other routelets
+                    itemIds.add(nestedId);
+                    continue;
+                }
+                final Entry nested = resolve(nestedId, nestedVersion, resolving);
+                nodes.addAll(nested.nodes);
+                itemIds.addAll(nested.itemIds);
+            } else if (isActivate(n.getElementParameter())) {
+                nodes.add(n);
+            }
+        }
+        resolving.remove(key);
+
+        entry = new Entry(Collections.unmodifiableCollection(nodes), itemIds);
+        registerListener();
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private static ProcessItem findRouteletItem(final String routeletId, final String routeletVersion) {
+        final ProxyRepositoryFactory factory = ProxyRepositoryFactory.getInstance();
+        if (factory == null) {
+            return null;
+        }
+        IRepositoryViewObject found = null;
+        try {
+            if (RelationshipItemBuilder.LATEST_VERSION.equals(routeletVersion)) {
+                found = factory.getLastVersion(routeletId);
+            } else {
+                for (IRepositoryViewObject repositoryViewObject : factory.getAllVersion(routeletId)) {
+                    if (routeletVersion.equals(repositoryViewObject.getVersion())) {
+                        found = repositoryViewObject;
+                        break;
+                    }
+                }
+            }
+        } catch (PersistenceException e) {
+            ExceptionHandler.process(e);
+        }
+        if (found != null) {
+            return (ProcessItem) found.getProperty().getItem();
+        }
+        return null;
+    }
+
+    static boolean isActivate(final Collection<ElementParameterType> parameters) {
+        for (ElementParameterType cpType : parameters) {
+            if ("ACTIVATE".equals(cpType.getName())) { //$NON-NLS-1$
+                return Boolean.parseBoolean(cpType.getValue());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * drop the entries resolved from the given routelet item
+     */
+    void invalidate(final String itemId) {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext();) {
+            if (it.next().itemIds.contains(itemId)) {
+                it.remove();
+            }
+        }
+    }
+
+    void clear() {
+        entries.clear();
+    }
+
+    private synchronized void registerListener() {
+        if (listening) {
+            return;
+        }
+        listening = true;
+        ProxyRepositoryFactory.getInstance().addPropertyChangeListener(new PropertyChangeListener() {
+
+            @Override
+            public void propertyChange(PropertyChangeEvent event) {
+                final Object newValue = event.getNewValue();
+                if (newValue instanceof Item && ((Item) newValue).getProperty() != null) {
+                    invalidate(((Item) newValue).getProperty().getId());
+                } else if (newValue instanceof IRepositoryViewObject) {
+                    invalidate(((IRepositoryViewObject) newValue).getId());
+                } else {
+                    // imports, deletions, restores...
+                    clear();
+                }
+            }
+        });
+    }
+}
@@ -16,17 +16,23 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -80,6 +86,36 @@ public class RouteResourceUtil {
 
     private static final String RESOURCES = "resources";
 
+    /**
+     * what the synchronization last wrote, by workspace project then target file path, dropped when the project is
+     * closed or deleted (logoff, project switch...)
+     */
+    private static final Map<IProject, Map<String, SynchronizedContent>> SYNCHRONIZED_CONTENTS =
+            new ConcurrentHashMap<IProject, Map<String, SynchronizedContent>>();
+
+    private static boolean listeningProjects;
+
+    private static final class SynchronizedContent {
+
+        private final byte[] digest;
+
+        /** to see the files changed or deleted since, by a Maven clean for instance */
+        private final long length;
+
+        private final long lastModified;
+
+        private SynchronizedContent(byte[] digest, File file) {
+            this.digest = digest;
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+        }
+
+        private boolean isContentOf(File file, byte[] contentDigest) {
+            return Arrays.equals(digest, contentDigest) && file.isFile() && file.length() == length
+                    && file.lastModified() == lastModified;
+        }
+    }
+
     /**
      * Get source file of Item.
      *
@@ -230,25 +266,14 @@ public class RouteResourceUtil {
                 prepareFolder(metaInf);
                 final IFile springExt = metaExtInf.getFile(item.getProperty().getLabel().toLowerCase() + ".xml");
                 final IFile spring = metaInf.getFile(item.getProperty().getLabel().toLowerCase() + ".xml");
-                final InputStream inputStream = new ByteArrayInputStream(((CamelProcessItem) item).getSpringContent().getBytes());
-
-                routeExternalResourceFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
-                routeResourceFolder.refreshLocal(IResource.DEPTH_INFINITE, null);
+                final byte[] springContent = ((CamelProcessItem) item).getSpringContent().getBytes();
 
-                if (springExt.exists()) {
-                    springExt.setContents(inputStream, 0, null);
-                } else {
-                    springExt.create(inputStream, true, null);
-                }
+                writeIfChanged(springExt, springContent);
                 result.add(springExt.getLocation());
 
-                if (spring.exists()) {
-                    spring.setContents(springExt.getContents(), 0, null);
-                } else {
-                    spring.create(springExt.getContents(), true, null);
-                }
+                writeIfChanged(spring, springContent);
 
-            } catch (CoreException e) {
+            } catch (CoreException | IOException e) {
                 ExceptionHandler.process(e);
             }
         }
@@ -257,21 +282,18 @@ public class RouteResourceUtil {
 
             IFile file = copyResources(routeExternalResourceFolder, model);
 
-            String itemName = getItemName(model.getItem()) + file.getName();
-
             if (file != null) {
 
+                String itemName = getItemName(model.getItem()) + file.getName();
+
                 try {
-                    FilesUtils.copyFile(file.getLocation().toFile(),
-                            new File(talendProcessJavaProject.getBundleResourcesFolder().getLocation().toOSString()
-                                    + File.separator
-                                    + RESOURCES + File.separator + itemName));
-
-                    FilesUtils.copyFile(file.getLocation().toFile(),
-                            new File(talendProcessJavaProject.getResourcesFolder().getLocation().toOSString() + File.separator
-                                    + itemName));
-                } catch (IOException e) {
-                    e.printStackTrace();
+                    copyIfChanged(file.getLocation().toFile(),
+                            talendProcessJavaProject.getBundleResourcesFolder().getFolder(RESOURCES).getFile(itemName));
+
+                    copyIfChanged(file.getLocation().toFile(),
+                            talendProcessJavaProject.getResourcesFolder().getFile(itemName));
+                } catch (CoreException | IOException e) {
+                    ExceptionHandler.process(e);
                 }
 
                 result.add(file.getLocation());
@@ -419,15 +441,8 @@ public class RouteResourceUtil {
         }
         final IFile classpathFile = folder.getFile(new Path(model.getClassPathUrl()));
         final ReferenceFileItem refFile = (ReferenceFileItem) referenceResources.get(0);
-        try (final InputStream inputStream = new ByteArrayInputStream(refFile.getContent().getInnerContent())) {
-            if (classpathFile.exists()) {
-                classpathFile.setContents(inputStream, 0, null);
-            } else {
-                if (!classpathFile.getParent().exists()) {
-                    prepareFolder((IFolder) classpathFile.getParent());
-                }
-                classpathFile.create(inputStream, true, null);
-            }
+        try {
+            writeIfChanged(classpathFile, refFile.getContent().getInnerContent());
         } catch (CoreException | IOException e) {
             ExceptionHandler.process(e);
         }
@@ -435,6 +450,69 @@ public class RouteResourceUtil {
         return classpathFile;
     }
 
+    /**
+     * Write the file unless the synchronization already wrote this content to it, only the file is refreshed.
+     */
+    public static void writeIfChanged(final IFile file, final byte[] content) throws CoreException, IOException {
+        final File target = file.getLocation().toFile();
+        final byte[] digest = digest(content);
+        final Map<String, SynchronizedContent> synchronizedContents = getSynchronizedContents(file);
+        final SynchronizedContent synchronizedContent = synchronizedContents.get(target.getPath());
+        if (synchronizedContent != null && synchronizedContent.isContentOf(target, digest)) {
+            return;
+        }
+        file.refreshLocal(IResource.DEPTH_ZERO, null);
+        try (final InputStream inputStream = new ByteArrayInputStream(content)) {
+            if (file.exists()) {
+                file.setContents(inputStream, 0, null);
+            } else {
+                if (!file.getParent().exists()) {
+                    prepareFolder((IFolder) file.getParent());
+                }
+                file.create(inputStream, true, null);
+            }
+        }
+        synchronizedContents.put(target.getPath(), new SynchronizedContent(digest, target));
+    }
+
+    /**
+     * Copy the file unless the synchronization already copied this content to the target, only the target is
+     * refreshed.
+     */
+    public static void copyIfChanged(final File source, final IFile file) throws CoreException, IOException {
+        final File target = file.getLocation().toFile();
+        final byte[] digest = digest(Files.readAllBytes(source.toPath()));
+        final Map<String, SynchronizedContent> synchronizedContents = getSynchronizedContents(file);
+        final SynchronizedContent synchronizedContent = synchronizedContents.get(target.getPath());
+        if (synchronizedContent != null && synchronizedContent.isContentOf(target, digest)) {
+            return;
+        }
+        FilesUtils.copyFile(source, target);
+        synchronizedContents.put(target.getPath(), new SynchronizedContent(digest, target));
+        file.refreshLocal(IResource.DEPTH_ZERO, null);
+    }
+
+    private static Map<String, SynchronizedContent> getSynchronizedContents(final IFile file) {
+        synchronized (SYNCHRONIZED_CONTENTS) {
+            if (!listeningProjects) {
+                listeningProjects = true;
+                ResourcesPlugin.getWorkspace().addResourceChangeListener(
+                        event -> SYNCHRONIZED_CONTENTS.remove(event.getResource()),
+                        IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+            }
+        }
+        return SYNCHRONIZED_CONTENTS.computeIfAbsent(file.getProject(),
+                project -> new ConcurrentHashMap<String, SynchronizedContent>());
+    }
+
+    private static byte[] digest(final byte[] content) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException(e);
+        }
+    }
+
     public static void prepareFolder(IFolder folder) throws CoreException {
         IContainer parent = folder.getParent();
         if (IResource.FOLDER == parent.getType()) {
@@ -28,6 +28,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.emf.common.util.EList;
+import org.talend.camel.designer.util.RepositoryObjectIndex;
 import org.talend.commons.CommonsPlugin;
 import org.talend.commons.exception.ExceptionHandler;
 import org.talend.commons.exception.PersistenceException;
@@ -35,10 +36,10 @@ import org.talend.commons.utils.workbench.resources.ResourceUtils;
 import org.talend.core.CorePlugin;
 import org.talend.core.GlobalServiceRegister;
 import org.talend.core.IESBService;
+import org.talend.core.model.general.Project;
 import org.talend.core.model.properties.ProcessItem;
 import org.talend.core.model.repository.ERepositoryObjectType;
 import org.talend.core.model.repository.IRepositoryViewObject;
-import org.talend.core.repository.model.ProxyRepositoryFactory;
 import org.talend.core.runtime.process.IBuildJobHandler;
 import org.talend.core.runtime.process.ITalendProcessJavaProject;
 import org.talend.core.runtime.process.TalendProcessArgumentConstant;
@@ -51,6 +52,7 @@ import org.talend.designer.publish.core.models.FeatureModel;
 import org.talend.designer.publish.core.models.FeaturesModel;
 import org.talend.designer.runprocess.IProcessor;
 import org.talend.designer.runprocess.IRunProcessService;
+import org.talend.repository.ProjectManager;
 import org.talend.repository.services.maven.CreateMavenDataServicePom;
 import org.talend.repository.services.maven.ServiceMavenJavaProcessor;
 import org.talend.repository.services.model.services.ServiceConnection;
@@ -138,7 +140,7 @@ public class BuildDataServiceHandler implements IBuildJobHandler {
         EList<ServicePort> listPort = serviceConnection.getServicePort();
 
         try {
-            List<IRepositoryViewObject> jobs = ProxyRepositoryFactory.getInstance().getAll(ERepositoryObjectType.PROCESS);
+            Project project = ProjectManager.getInstance().getCurrentProject();
             for (ServicePort port : listPort) {
                 List<ServiceOperation> listOperation = port.getServiceOperation();
                 Map<String, String> operations = new HashMap<String, String>(listOperation.size());
@@ -146,13 +148,8 @@ public class BuildDataServiceHandler implements IBuildJobHandler {
                     String jobId = operation.getReferenceJobId();
                     if (jobId != null && !jobId.equals("")) {
                         String operationName = operation.getName();
-                        IRepositoryViewObject jobNode = null;
-                        for (IRepositoryViewObject job : jobs) {
-                            if (job.getId().equals(jobId)) {
-                                jobNode = job;
-                                break;
-                            }
-                        }
+                        IRepositoryViewObject jobNode =
+                                RepositoryObjectIndex.INSTANCE.getById(project, ERepositoryObjectType.PROCESS, jobId);
                         if (jobNode == null) {
                             continue;
                         }
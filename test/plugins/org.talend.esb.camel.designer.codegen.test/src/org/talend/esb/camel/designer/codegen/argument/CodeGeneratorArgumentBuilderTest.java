@@ -0,0 +1,135 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.argument;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.talend.camel.designer.codegen.argument.CodeGeneratorArgumentBuilder;
+import org.talend.camel.designer.codegen.util.ProcessUtil;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.camel.model.IRouteProcess;
+import org.talend.core.CorePlugin;
+import org.talend.core.model.repository.FakePropertyImpl;
+import org.talend.designer.codegen.config.CodeGeneratorArgument;
+
+public class CodeGeneratorArgumentBuilderTest {
+
+    /**
+     * The previous builder: the route settings were set on a template argument, copied through all its bean
+     * properties for each code part.
+     */
+    private static final class TemplateCopyBuilder {
+
+        private final CodeGeneratorArgument template = new CodeGeneratorArgument();
+
+        private final BeanInfo beanInfo;
+
+        private TemplateCopyBuilder(IRouteProcess process, boolean statistics, boolean trace, String[] options)
+                throws Exception {
+            template.setJobName(process.getName());
+            if (process.getVersion() != null) {
+                template.setJobVersion(process.getVersion().replace(".", "_")); //$NON-NLS-1$ //$NON-NLS-2$
+            }
+            setContextName(process.getContextManager().getDefaultContext().getName());
+            template.setIsRunInMultiThread(ProcessUtil.getRunInMultiThread(process));
+            template.setStatistics(statistics);
+            template.setTrace(trace);
+            if (options == null || options.length < 4) {
+                options = new String[] { "", "", "", "" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+            }
+            template.setInterpreterPath(options[0]);
+            template.setLibPath(options[1]);
+            template.setRuntimeFilePath(options[2]);
+            template.setCurrentProjectName(options[3]);
+            template.setCheckingSyntax(false);
+            template.setPauseTime(CorePlugin.getDefault().getRunProcessService().getPauseTime());
+            beanInfo = Introspector.getBeanInfo(CodeGeneratorArgument.class);
+        }
+
+        private void setContextName(String contextName) {
+            template.setContextName(contextName);
+        }
+
+        private void setCheckingSyntax(boolean checkingSyntax) {
+            template.setCheckingSyntax(checkingSyntax);
+        }
+
+        private CodeGeneratorArgument build() throws Exception {
+            CodeGeneratorArgument argument = new CodeGeneratorArgument();
+            for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
+                Method rm = propertyDescriptor.getReadMethod();
+                Method wm = propertyDescriptor.getWriteMethod();
+                if (rm != null && wm != null) {
+                    wm.invoke(argument, rm.invoke(template));
+                }
+            }
+            return argument;
+        }
+    }
+
+    private static RouteProcess createRoute() {
+        RouteProcess route = new RouteProcess(new FakePropertyImpl());
+        route.setId("myRoute"); //$NON-NLS-1$
+        return route;
+    }
+
+    private static void assertSameProperties(CodeGeneratorArgument expected, CodeGeneratorArgument actual)
+            throws Exception {
+        for (PropertyDescriptor property : Introspector.getBeanInfo(CodeGeneratorArgument.class)
+                .getPropertyDescriptors()) {
+            Method read = property.getReadMethod();
+            if (read != null && read.getParameterTypes().length == 0) {
+                Assert.assertEquals(property.getName(), read.invoke(expected), read.invoke(actual));
+            }
+        }
+    }
+
+    @Test
+    public void testBuildAsTemplateCopy() throws Exception {
+        RouteProcess route = createRoute();
+        String[] options = { "interpreter", "lib", "runtime", "project" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+        TemplateCopyBuilder previous = new TemplateCopyBuilder(route, true, false, options);
+        CodeGeneratorArgumentBuilder builder = new CodeGeneratorArgumentBuilder(route, true, false, options);
+        assertSameProperties(previous.build(), builder.build());
+
+        previous.setContextName("Prod"); //$NON-NLS-1$
+        builder.setContextName("Prod"); //$NON-NLS-1$
+        previous.setCheckingSyntax(true);
+        builder.setCheckingSyntax(true);
+        assertSameProperties(previous.build(), builder.build());
+
+        // each part gets its own argument
+        Assert.assertNotSame(builder.build(), builder.build());
+    }
+
+    @Test
+    public void testBuildWithoutOptionsAsTemplateCopy() throws Exception {
+        RouteProcess route = createRoute();
+        assertSameProperties(new TemplateCopyBuilder(route, false, true, null).build(),
+                new CodeGeneratorArgumentBuilder(route, false, true, null).build());
+    }
+}
@@ -37,8 +37,8 @@ public class CamelJetFileProviderTest {
      */
     @Test
     public void testInitialize() {
-        List<String> resTemplates = Arrays.asList(new String[] { "header_route", "footer_route", "camel_speciallinks",
-                "camel_run_if" });
+        List<String> resTemplates = Arrays.asList(new String[] { "header_route", "route_endpoints", "footer_route",
+                "camel_speciallinks", "camel_run_if" });
         List<TemplateUtil> templates = new CamelJetFileProvider().initializeStubAdditionalJetFile();
         for (TemplateUtil t : templates) {
             Assert.assertTrue(resTemplates.contains(t.getType().getTemplateName()));
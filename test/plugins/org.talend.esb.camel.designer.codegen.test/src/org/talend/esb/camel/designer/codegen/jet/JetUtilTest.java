@@ -0,0 +1,67 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.jet;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.talend.camel.designer.codegen.jet.JetUtil;
+import org.talend.camel.designer.codegen.util.NodeUtil;
+import org.talend.core.model.components.IComponent;
+import org.talend.core.model.repository.FakePropertyImpl;
+import org.talend.core.model.temp.ECodePart;
+import org.talend.core.ui.component.ComponentsFactoryProvider;
+import org.talend.designer.codegen.config.CodeGeneratorArgument;
+import org.talend.designer.codegen.config.JetBean;
+import org.talend.designer.core.ui.editor.nodes.Node;
+import org.talend.designer.core.ui.editor.process.Process;
+
+public class JetUtilTest {
+
+    /**
+     * Test method for
+     * {@link org.talend.camel.designer.codegen.jet.JetUtil#createJetBean(org.talend.designer.codegen.config.CodeGeneratorArgument)}
+     * .
+     */
+    @Test
+    public void testCreateJetBean() {
+        IComponent component = ComponentsFactoryProvider.getInstance().get("cTimer", "CAMEL"); //$NON-NLS-1$ //$NON-NLS-2$
+        Node node = new Node(component, new Process(new FakePropertyImpl()));
+        CodeGeneratorArgument argument = new CodeGeneratorArgument();
+        argument.setNode(node);
+        argument.setCodePart(ECodePart.MAIN);
+
+        JetBean first = JetUtil.createJetBean(argument);
+        Assert.assertEquals(NodeUtil.getTemplateURI(node, ECodePart.MAIN), first.getTemplateRelativeUri());
+        Assert.assertNotNull(first.getJetPluginRepository());
+
+        // beans are not shared, only their configuration
+        JetBean second = JetUtil.createJetBean(argument);
+        Assert.assertNotSame(first, second);
+        Assert.assertEquals(first.getTemplateRelativeUri(), second.getTemplateRelativeUri());
+        Assert.assertEquals(first.getJetPluginRepository(), second.getJetPluginRepository());
+
+        JetUtil.clearTemplateCache();
+        JetBean reloaded = JetUtil.createJetBean(argument);
+        Assert.assertEquals(first.getTemplateRelativeUri(), reloaded.getTemplateRelativeUri());
+        Assert.assertEquals(first.getJetPluginRepository(), reloaded.getJetPluginRepository());
+    }
+}
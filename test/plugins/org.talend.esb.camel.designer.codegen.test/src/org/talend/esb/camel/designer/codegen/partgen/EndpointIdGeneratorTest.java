@@ -23,11 +23,20 @@ package org.talend.esb.camel.designer.codegen.partgen;
 
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.talend.camel.designer.codegen.partgen.EndpointIdGenerator;
 import org.talend.core.model.components.IComponent;
+import org.talend.core.model.process.IConnection;
+import org.talend.core.model.process.IElementParameter;
 import org.talend.core.model.process.INode;
+import org.talend.core.model.process.IProcess;
 import org.talend.core.model.properties.ItemState;
 import org.talend.core.model.properties.ProcessItem;
 import org.talend.core.model.properties.PropertiesFactory;
@@ -77,4 +86,48 @@ public class EndpointIdGeneratorTest {
         }
     }
 
+    private static INode mockNode(IProcess process, String uniqueName, String label) {
+        IComponent component = Mockito.mock(IComponent.class);
+        Mockito.doReturn("cLog").when(component).getName(); //$NON-NLS-1$
+        IElementParameter labelParameter = Mockito.mock(IElementParameter.class);
+        Mockito.doReturn(label).when(labelParameter).getValue();
+        INode node = Mockito.mock(INode.class);
+        Mockito.doReturn(component).when(node).getComponent();
+        Mockito.doReturn(process).when(node).getProcess();
+        Mockito.doReturn(uniqueName).when(node).getUniqueName();
+        Mockito.doReturn(labelParameter).when(node).getElementParameter("LABEL"); //$NON-NLS-1$
+        Mockito.doReturn(new ArrayList<IConnection>()).when(node).getIncomingConnections();
+        return node;
+    }
+
+    /**
+     * Nodes of routelets used twice, or named like nodes of the route, must still get unique ids.
+     */
+    @Test
+    public void testGeneratePartUniqueAcrossRoutelets() throws CodeGeneratorException {
+        IProcess process = Mockito.mock(IProcess.class);
+        Mockito.doReturn("myRoute").when(process).getName(); //$NON-NLS-1$
+        List<INode> nodes = new ArrayList<INode>();
+        nodes.add(mockNode(process, "cLog_1", "__UNIQUE_NAME__")); //$NON-NLS-1$ //$NON-NLS-2$
+        nodes.add(mockNode(process, "cLog_2", "__UNIQUE_NAME__")); //$NON-NLS-1$ //$NON-NLS-2$
+        // the same routelet twice
+        nodes.add(mockNode(process, "cLog_3", "routelet")); //$NON-NLS-1$ //$NON-NLS-2$
+        nodes.add(mockNode(process, "cLog_3", "routelet")); //$NON-NLS-1$ //$NON-NLS-2$
+        nodes.add(mockNode(process, "cLog_3", "routelet_1")); //$NON-NLS-1$ //$NON-NLS-2$
+        Mockito.doReturn(nodes).when(process).getGeneratingNodes();
+
+        EndpointIdGenerator generator = new EndpointIdGenerator();
+        Set<String> parts = new HashSet<String>();
+        for (INode node : nodes) {
+            Assert.assertTrue(parts.add(generator.generatePart(node).toString()));
+        }
+        Assert.assertEquals(".id(\"myRoute_cLog_1\")", generator.generatePart(nodes.get(0)).toString()); //$NON-NLS-1$
+        Assert.assertEquals(".id(\"myRoute_cLog_3_routelet\")", generator.generatePart(nodes.get(2)).toString()); //$NON-NLS-1$
+        Assert.assertEquals(".id(\"myRoute_cLog_3_routelet_1\")", generator.generatePart(nodes.get(3)).toString()); //$NON-NLS-1$
+        Assert.assertEquals(".id(\"myRoute_cLog_3_routelet_1_1\")", generator.generatePart(nodes.get(4)).toString()); //$NON-NLS-1$
+
+        generator.reset();
+        Assert.assertEquals(".id(\"myRoute_cLog_3_routelet_1\")", generator.generatePart(nodes.get(3)).toString()); //$NON-NLS-1$
+    }
+
 }
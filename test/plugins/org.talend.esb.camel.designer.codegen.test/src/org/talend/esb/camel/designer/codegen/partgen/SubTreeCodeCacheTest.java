@@ -0,0 +1,129 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.partgen;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.talend.camel.designer.codegen.CamelCodeGenerator;
+import org.talend.camel.designer.codegen.partgen.SubTreeCodeCache;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.core.model.components.IComponent;
+import org.talend.core.model.process.EConnectionType;
+import org.talend.core.model.process.INode;
+import org.talend.core.model.repository.FakePropertyImpl;
+import org.talend.core.ui.component.ComponentsFactoryProvider;
+import org.talend.designer.core.ui.editor.connections.Connection;
+import org.talend.designer.core.ui.editor.nodecontainer.NodeContainer;
+import org.talend.designer.core.ui.editor.nodes.Node;
+
+public class SubTreeCodeCacheTest {
+
+    private static final String FULL_GENERATION = "talend.camel.codegen.fullGeneration"; //$NON-NLS-1$
+
+    private RouteProcess route;
+
+    private Node timer2;
+
+    @Before
+    public void setUp() {
+        SubTreeCodeCache.INSTANCE.clear();
+        IComponent component = ComponentsFactoryProvider.getInstance().get("cTimer", "CAMEL"); //$NON-NLS-1$ //$NON-NLS-2$
+        route = new RouteProcess(new FakePropertyImpl());
+        route.setId("myRoute"); //$NON-NLS-1$
+        // two routes, so two sub trees
+        route.addNodeContainer(new NodeContainer(new Node(component, route)));
+        timer2 = new Node(component, route);
+        route.addNodeContainer(new NodeContainer(timer2));
+    }
+
+    @After
+    public void tearDown() {
+        System.clearProperty(FULL_GENERATION);
+        SubTreeCodeCache.INSTANCE.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private String generate(boolean full) throws Exception {
+        if (full) {
+            System.setProperty(FULL_GENERATION, "true"); //$NON-NLS-1$
+        } else {
+            System.clearProperty(FULL_GENERATION);
+        }
+        route.getGeneratingProcess().buildFromGraphicalProcess((List<INode>) route.getGraphicalNodes());
+        return new CamelCodeGenerator(route, false, false).generateProcessCode();
+    }
+
+    @Test
+    public void testIncrementalGenerationIsFullGeneration() throws Exception {
+        String full = generate(true);
+        Assert.assertEquals(0, SubTreeCodeCache.INSTANCE.getMisses());
+
+        Assert.assertEquals(full, generate(false));
+        long misses = SubTreeCodeCache.INSTANCE.getMisses();
+        Assert.assertEquals(2, misses);
+
+        Assert.assertEquals(full, generate(false));
+        Assert.assertEquals(misses, SubTreeCodeCache.INSTANCE.getMisses());
+        Assert.assertEquals(2, SubTreeCodeCache.INSTANCE.getHits());
+    }
+
+    @Test
+    public void testChangedSubTreeIsGeneratedAgain() throws Exception {
+        generate(false);
+        Assert.assertEquals(2, SubTreeCodeCache.INSTANCE.getMisses());
+
+        // only the sub tree of timer2 is generated again, the other one doesn't refer to it
+        timer2.setPropertyValue("LABEL", "changed"); //$NON-NLS-1$ //$NON-NLS-2$
+        String incremental = generate(false);
+        Assert.assertEquals(3, SubTreeCodeCache.INSTANCE.getMisses());
+        Assert.assertEquals(1, SubTreeCodeCache.INSTANCE.getHits());
+
+        Assert.assertEquals(generate(true), incremental);
+    }
+
+    @Test
+    public void testChangedDirectConsumerIsSeenByItsProducer() throws Exception {
+        IComponent direct = ComponentsFactoryProvider.getInstance().get("cDirect", "CAMEL"); //$NON-NLS-1$ //$NON-NLS-2$
+        // timer2 -> producer, sending to the consumer of a third route
+        Node consumer = new Node(direct, route);
+        route.addNodeContainer(new NodeContainer(consumer));
+        consumer.setPropertyValue("NAME", "\"cacheBefore\""); //$NON-NLS-1$ //$NON-NLS-2$
+        Node producer = new Node(direct, route);
+        route.addNodeContainer(new NodeContainer(producer));
+        new Connection(timer2, producer, EConnectionType.ROUTE, EConnectionType.ROUTE.getName(),
+                timer2.getUniqueName(), "route1", "route1", false); //$NON-NLS-1$ //$NON-NLS-2$
+        producer.setPropertyValue("EXIST_ENDPOINT", consumer.getUniqueName()); //$NON-NLS-1$
+
+        String before = generate(false);
+        Assert.assertTrue(before, before.contains("cacheBefore")); //$NON-NLS-1$
+
+        consumer.setPropertyValue("NAME", "\"cacheAfter\""); //$NON-NLS-1$ //$NON-NLS-2$
+        String after = generate(false);
+        // the producer sends to the new name too
+        Assert.assertFalse(after, after.contains("cacheBefore")); //$NON-NLS-1$
+        Assert.assertEquals(generate(true), after);
+    }
+}
@@ -0,0 +1,114 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.partgen.process;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.talend.camel.designer.codegen.CamelCodeGenerator;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.core.model.process.EConnectionType;
+import org.talend.core.model.process.INode;
+import org.talend.core.model.properties.ItemState;
+import org.talend.core.model.properties.ProcessItem;
+import org.talend.core.model.properties.PropertiesFactory;
+import org.talend.core.model.properties.Property;
+import org.talend.core.repository.model.ProxyRepositoryFactory;
+import org.talend.core.ui.component.ComponentsFactoryProvider;
+import org.talend.designer.core.model.utils.emf.talendfile.TalendFileFactory;
+import org.talend.designer.core.ui.editor.connections.Connection;
+import org.talend.designer.core.ui.editor.nodecontainer.NodeContainer;
+import org.talend.designer.core.ui.editor.nodes.Node;
+import org.talend.esb.camel.designer.codegen.util.NodeAncestryTest;
+
+public class ComponentsCodePartBuilderTest {
+
+    private RouteProcess createRoute() {
+        ProcessItem processItem = PropertiesFactory.eINSTANCE.createProcessItem();
+        Property myProperty = PropertiesFactory.eINSTANCE.createProperty();
+        myProperty.setId(ProxyRepositoryFactory.getInstance().getNextId());
+        ItemState itemState = PropertiesFactory.eINSTANCE.createItemState();
+        itemState.setDeleted(false);
+        itemState.setPath(""); //$NON-NLS-1$
+        processItem.setState(itemState);
+        processItem.setProperty(myProperty);
+        myProperty.setLabel("myRoute"); //$NON-NLS-1$
+        myProperty.setVersion("0.1"); //$NON-NLS-1$
+        processItem.setProcess(TalendFileFactory.eINSTANCE.createProcessType());
+
+        RouteProcess process = new RouteProcess(myProperty);
+        process.setId("routeprocess"); //$NON-NLS-1$
+        return process;
+    }
+
+    private static Node add(RouteProcess route, String componentName) {
+        Node node = new Node(ComponentsFactoryProvider.getInstance().get(componentName, "CAMEL"), route); //$NON-NLS-1$
+        route.addNodeContainer(new NodeContainer(node));
+        return node;
+    }
+
+    private static Node connect(RouteProcess route, Node source, String componentName) {
+        Node target = add(route, componentName);
+        String name = "route_" + target.getUniqueName(); //$NON-NLS-1$
+        new Connection(source, target, EConnectionType.ROUTE, EConnectionType.ROUTE.getName(), source.getUniqueName(),
+                name, name, false);
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testLoadBalancerEndAsPreviousWalk() throws Exception {
+        RouteProcess route = createRoute();
+        // balanced route, with a deep branch
+        Node balancer = connect(route, connect(route, add(route, "cTimer"), "cLog"), "cLoadBalancer"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        Node deep = balancer;
+        for (int i = 0; i < 5; i++) {
+            deep = connect(route, deep, "cLog"); //$NON-NLS-1$
+        }
+        // balancer right after the start node
+        connect(route, connect(route, add(route, "cTimer"), "cLoadBalancer"), "cLog"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        // no balancer
+        connect(route, connect(route, add(route, "cTimer"), "cLog"), "cLog"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+        route.getGeneratingProcess().buildFromGraphicalProcess((List<INode>) route.getGraphicalNodes());
+
+        String code = new CamelCodeGenerator(route, false, false).generateProcessCode();
+        int lastNodes = 0;
+        for (INode node : route.getGeneratingNodes()) {
+            if (node.getIncomingConnections().isEmpty() || !node.getOutgoingConnections().isEmpty()) {
+                continue;
+            }
+            lastNodes++;
+            Matcher id = Pattern.compile("\\.id\\(\"[^\"]*_" + Pattern.quote(node.getUniqueName()) //$NON-NLS-1$
+                    + "(_[^\"]*)?\"\\)(\\.end\\(\\))?").matcher(code); //$NON-NLS-1$
+            Assert.assertTrue(node.getUniqueName(), id.find());
+            Assert.assertEquals(node.getUniqueName(), NodeAncestryTest.hasLoadBalanceAncestor(node),
+                    id.group(2) != null);
+        }
+        Assert.assertEquals(3, lastNodes);
+
+        // the ancestry found by the first generation is not reused
+        Assert.assertEquals(code, new CamelCodeGenerator(route, false, false).generateProcessCode());
+    }
+}
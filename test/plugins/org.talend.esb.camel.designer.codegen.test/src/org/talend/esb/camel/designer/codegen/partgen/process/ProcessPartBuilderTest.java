@@ -0,0 +1,57 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.partgen.process;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.talend.camel.designer.codegen.Activator;
+import org.talend.camel.designer.codegen.config.ECamelTemplate;
+import org.talend.camel.designer.codegen.partgen.process.ProcessPartBuilder;
+
+public class ProcessPartBuilderTest {
+
+    @Test
+    public void testRouteEndpointsComponentsMatchTemplate() throws Exception {
+        URL template = Activator.getDefault().getBundle().getEntry(ECamelTemplate.ROUTE_ENDPOINTS.getTemplateURL());
+        Assert.assertNotNull(template);
+        String content;
+        try (InputStream in = template.openStream();
+                Scanner scanner = new Scanner(in, StandardCharsets.UTF_8.name())) {
+            content = scanner.useDelimiter("\\A").next(); //$NON-NLS-1$
+        }
+        Set<String> templateComponents = new HashSet<String>();
+        Matcher matcher = Pattern.compile("\"(\\w+)\"\\.equals\\(nodeComponentName\\)").matcher(content); //$NON-NLS-1$
+        while (matcher.find()) {
+            templateComponents.add(matcher.group(1));
+        }
+        Assert.assertEquals(templateComponents, ProcessPartBuilder.ROUTE_ENDPOINTS_COMPONENTS);
+    }
+}
@@ -0,0 +1,111 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.codegen.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.talend.camel.designer.codegen.util.NodeAncestry;
+import org.talend.core.model.components.IComponent;
+import org.talend.core.model.process.EConnectionType;
+import org.talend.core.model.process.IConnection;
+import org.talend.core.model.process.INode;
+
+public class NodeAncestryTest {
+
+    private final List<INode> nodes = new ArrayList<INode>();
+
+    private INode node(String componentName) {
+        IComponent component = Mockito.mock(IComponent.class);
+        Mockito.doReturn(componentName).when(component).getName();
+        INode node = Mockito.mock(INode.class);
+        Mockito.doReturn(component).when(node).getComponent();
+        Mockito.doReturn(new ArrayList<IConnection>()).when(node).getIncomingConnections();
+        nodes.add(node);
+        return node;
+    }
+
+    @SuppressWarnings("unchecked")
+    private INode connect(INode source, EConnectionType lineStyle, String targetComponentName) {
+        INode target = node(targetComponentName);
+        IConnection connection = Mockito.mock(IConnection.class);
+        Mockito.doReturn(source).when(connection).getSource();
+        Mockito.doReturn(target).when(connection).getTarget();
+        Mockito.doReturn(lineStyle).when(connection).getLineStyle();
+        ((List<IConnection>) target.getIncomingConnections()).add(connection);
+        return target;
+    }
+
+    /**
+     * the walk ComponentsCodePartBuilder used to do for every node, the reference for the results of
+     * {@link NodeAncestry}
+     */
+    public static boolean hasLoadBalanceAncestor(INode node) {
+        INode sourceNode = node.getIncomingConnections().get(0).getSource();
+        INode currentNode = node;
+        while (sourceNode.getIncomingConnections() != null && sourceNode.getIncomingConnections().size() > 0) {
+            if (currentNode.getIncomingConnections().get(0).getLineStyle().equals(EConnectionType.ROUTE)
+                    && "cLoadBalancer".equals(currentNode.getIncomingConnections().get(0).getSource().getComponent() //$NON-NLS-1$
+                            .getName())) {
+                return true;
+            }
+            currentNode = sourceNode;
+            sourceNode = sourceNode.getIncomingConnections().get(0).getSource();
+        }
+        return false;
+    }
+
+    @Test
+    public void testIsRoutedThroughLoadBalancer() {
+        INode timer = node("cTimer"); //$NON-NLS-1$
+        INode log = connect(timer, EConnectionType.ROUTE, "cLog"); //$NON-NLS-1$
+        INode balancer = connect(log, EConnectionType.ROUTE, "cLoadBalancer"); //$NON-NLS-1$
+        INode processor = connect(balancer, EConnectionType.ROUTE, "cProcessor"); //$NON-NLS-1$
+        INode deep = processor;
+        for (int i = 0; i < 50; i++) {
+            deep = connect(deep, EConnectionType.ROUTE, "cLog"); //$NON-NLS-1$
+        }
+        connect(balancer, EConnectionType.ROUTE_WHEN, "cLog"); //$NON-NLS-1$
+        // load balancer as the first node after the start node
+        INode balancerStart = node("cLoadBalancer"); //$NON-NLS-1$
+        connect(connect(balancerStart, EConnectionType.ROUTE, "cLog"), EConnectionType.ROUTE, "cLog"); //$NON-NLS-1$ //$NON-NLS-2$
+        INode start = node("cTimer"); //$NON-NLS-1$
+        connect(connect(connect(start, EConnectionType.ROUTE, "cLoadBalancer"), EConnectionType.ROUTE, "cLog"), //$NON-NLS-1$ //$NON-NLS-2$
+                EConnectionType.ROUTE, "cLog"); //$NON-NLS-1$
+
+        NodeAncestry ancestry = new NodeAncestry();
+        // deepest nodes first, then the others reuse what was found on the way
+        for (int i = nodes.size() - 1; i >= 0; i--) {
+            INode node = nodes.get(i);
+            if (!node.getIncomingConnections().isEmpty()) {
+                Assert.assertEquals(hasLoadBalanceAncestor(node),
+                        ancestry.isRoutedThrough(node, NodeAncestry.LOAD_BALANCER));
+            }
+        }
+        Assert.assertTrue(ancestry.isRoutedThrough(deep, NodeAncestry.LOAD_BALANCER));
+        Assert.assertFalse(ancestry.isRoutedThrough(log, NodeAncestry.LOAD_BALANCER));
+        Assert.assertFalse(ancestry.isRoutedThrough(deep, "cSplitter")); //$NON-NLS-1$
+    }
+}
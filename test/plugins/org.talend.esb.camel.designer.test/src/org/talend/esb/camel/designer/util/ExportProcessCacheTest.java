@@ -0,0 +1,107 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.talend.camel.designer.util.ExportProcessCache;
+import org.talend.core.model.process.IProcess;
+import org.talend.core.model.properties.ProcessItem;
+import org.talend.core.model.properties.PropertiesFactory;
+import org.talend.core.model.properties.Property;
+
+public class ExportProcessCacheTest {
+
+    private final Map<ProcessItem, Integer> loads = new HashMap<ProcessItem, Integer>();
+
+    private IProcess load(ProcessItem item) {
+        loads.merge(item, 1, Integer::sum);
+        return Mockito.mock(IProcess.class);
+    }
+
+    private static ProcessItem item(String id, String version) {
+        ProcessItem item = PropertiesFactory.eINSTANCE.createProcessItem();
+        Property property = PropertiesFactory.eINSTANCE.createProperty();
+        property.setId(id);
+        property.setVersion(version);
+        property.setItem(item);
+        return item;
+    }
+
+    @Test
+    public void testItemsAreLoadedOnce() {
+        ExportProcessCache cache = new ExportProcessCache(this::load, 10);
+        ProcessItem route = item("route", "0.1"); //$NON-NLS-1$ //$NON-NLS-2$
+        ProcessItem job = item("job", "0.1"); //$NON-NLS-1$ //$NON-NLS-2$
+        ProcessItem jobNextVersion = item("job", "0.2"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        // the manifest, the features and the child features of a route using the job twice
+        IProcess routeProcess = cache.getProcess(route);
+        Assert.assertSame(routeProcess, cache.getProcess(route));
+        IProcess jobProcess = cache.getProcess(job);
+        Assert.assertSame(jobProcess, cache.getProcess(job));
+        Assert.assertSame(jobProcess, cache.getProcess(item("job", "0.1"))); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertSame(routeProcess, cache.getProcess(route));
+        Assert.assertNotSame(jobProcess, cache.getProcess(jobNextVersion));
+
+        Assert.assertEquals(Integer.valueOf(1), loads.get(route));
+        Assert.assertEquals(Integer.valueOf(1), loads.get(job));
+        Assert.assertEquals(Integer.valueOf(1), loads.get(jobNextVersion));
+        Assert.assertEquals(3, cache.getLoads());
+        Assert.assertEquals(4, cache.getHits());
+        Assert.assertEquals(3, cache.size());
+    }
+
+    @Test
+    public void testMaxSize() {
+        ExportProcessCache cache = new ExportProcessCache(this::load, 1);
+        ProcessItem route = item("route", "0.1"); //$NON-NLS-1$ //$NON-NLS-2$
+        ProcessItem job = item("job", "0.1"); //$NON-NLS-1$ //$NON-NLS-2$
+        cache.getProcess(route);
+        cache.getProcess(job);
+        cache.getProcess(job);
+        cache.getProcess(route);
+
+        Assert.assertEquals(1, cache.size());
+        Assert.assertEquals(Integer.valueOf(1), loads.get(route));
+        Assert.assertEquals(Integer.valueOf(2), loads.get(job));
+    }
+
+    @Test
+    public void testExportScope() {
+        ProcessItem route = item("route", "0.1"); //$NON-NLS-1$ //$NON-NLS-2$
+        ExportProcessCache export = new ExportProcessCache(this::load, 10);
+        IProcess routeProcess = ExportProcessCache.getProcessFromProcessItem(export, route);
+        Assert.assertSame(routeProcess, ExportProcessCache.getProcessFromProcessItem(export, route));
+
+        // the route is edited while the first export runs: an export started then loads the edited route
+        ExportProcessCache nextExport = new ExportProcessCache(this::load, 10);
+        Assert.assertNotSame(routeProcess, ExportProcessCache.getProcessFromProcessItem(nextExport, route));
+        Assert.assertSame(routeProcess, ExportProcessCache.getProcessFromProcessItem(export, route));
+        Assert.assertEquals(Integer.valueOf(2), loads.get(route));
+        Assert.assertEquals(0, nextExport.getHits());
+    }
+}
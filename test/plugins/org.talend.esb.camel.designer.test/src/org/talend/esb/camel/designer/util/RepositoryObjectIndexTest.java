@@ -0,0 +1,137 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.camel.designer.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.talend.camel.designer.util.RepositoryObjectIndex;
+import org.talend.core.model.general.Project;
+import org.talend.core.model.repository.ERepositoryObjectType;
+import org.talend.core.model.repository.IRepositoryViewObject;
+
+public class RepositoryObjectIndexTest {
+
+    /**
+     * in memory repository, counting the reads
+     */
+    private final Map<String, List<IRepositoryViewObject>> repository = new HashMap<String, List<IRepositoryViewObject>>();
+
+    private int reads;
+
+    private final RepositoryObjectIndex index = new RepositoryObjectIndex((project, type) -> {
+        reads++;
+        List<IRepositoryViewObject> objects = repository.get(project.getTechnicalLabel() + '/' + type.getType());
+        return objects == null ? new ArrayList<IRepositoryViewObject>() : new ArrayList<IRepositoryViewObject>(objects);
+    });
+
+    private static Project project(String technicalLabel) {
+        Project project = Mockito.mock(Project.class);
+        Mockito.doReturn(technicalLabel).when(project).getTechnicalLabel();
+        return project;
+    }
+
+    private IRepositoryViewObject add(Project project, ERepositoryObjectType type, String id, String label) {
+        IRepositoryViewObject object = Mockito.mock(IRepositoryViewObject.class);
+        Mockito.doReturn(id).when(object).getId();
+        Mockito.doReturn(label).when(object).getLabel();
+        String key = project.getTechnicalLabel() + '/' + type.getType();
+        if (!repository.containsKey(key)) {
+            repository.put(key, new ArrayList<IRepositoryViewObject>());
+        }
+        repository.get(key).add(object);
+        return object;
+    }
+
+    @Test
+    public void testLookups() throws Exception {
+        Project main = project("MAIN"); //$NON-NLS-1$
+        Project ref = project("REF"); //$NON-NLS-1$
+        List<IRepositoryViewObject> jobs = new ArrayList<IRepositoryViewObject>();
+        for (int i = 0; i < 1000; i++) {
+            jobs.add(add(main, ERepositoryObjectType.PROCESS, "job" + i, "Job" + i)); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        IRepositoryViewObject refJob = add(ref, ERepositoryObjectType.PROCESS, "refJob", "Job1"); //$NON-NLS-1$ //$NON-NLS-2$
+        IRepositoryViewObject route = add(main, ERepositoryObjectType.PROCESS_ROUTE, "route", "Route"); //$NON-NLS-1$ //$NON-NLS-2$
+        // same id again: the first one is found, as with the scans
+        add(main, ERepositoryObjectType.PROCESS, "job1", "Job1Copy"); //$NON-NLS-1$ //$NON-NLS-2$
+
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertSame(jobs.get(i), index.getById(main, ERepositoryObjectType.PROCESS, "job" + i)); //$NON-NLS-1$
+        }
+        Assert.assertSame(jobs.get(1), index.getByLabel(main, ERepositoryObjectType.PROCESS, "Job1")); //$NON-NLS-1$
+        Assert.assertSame(refJob, index.getByLabel(ref, ERepositoryObjectType.PROCESS, "Job1")); //$NON-NLS-1$
+        Assert.assertNull(index.getById(ref, ERepositoryObjectType.PROCESS, "job1")); //$NON-NLS-1$
+        Assert.assertNull(index.getById(main, ERepositoryObjectType.PROCESS, "route")); //$NON-NLS-1$
+        Assert.assertSame(route, index.getById(main, ERepositoryObjectType.PROCESS_ROUTE, "route")); //$NON-NLS-1$
+        // one read per project and type
+        Assert.assertEquals(3, reads);
+    }
+
+    @Test
+    public void testInvalidate() throws Exception {
+        Project main = project("MAIN"); //$NON-NLS-1$
+        add(main, ERepositoryObjectType.PROCESS, "job", "Job"); //$NON-NLS-1$ //$NON-NLS-2$
+        add(main, ERepositoryObjectType.PROCESS_ROUTE, "route", "Route"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(index.getById(main, ERepositoryObjectType.PROCESS, "newJob")); //$NON-NLS-1$
+        Assert.assertNotNull(index.getById(main, ERepositoryObjectType.PROCESS_ROUTE, "route")); //$NON-NLS-1$
+
+        IRepositoryViewObject newJob = add(main, ERepositoryObjectType.PROCESS, "newJob", "NewJob"); //$NON-NLS-1$ //$NON-NLS-2$
+        Assert.assertNull(index.getById(main, ERepositoryObjectType.PROCESS, "newJob")); //$NON-NLS-1$
+
+        index.invalidate(ERepositoryObjectType.PROCESS);
+        Assert.assertSame(newJob, index.getById(main, ERepositoryObjectType.PROCESS, "newJob")); //$NON-NLS-1$
+        Assert.assertEquals(3, reads);
+        Assert.assertNotNull(index.getById(main, ERepositoryObjectType.PROCESS_ROUTE, "route")); //$NON-NLS-1$
+        Assert.assertEquals(3, reads);
+
+        index.clear();
+        Assert.assertNotNull(index.getById(main, ERepositoryObjectType.PROCESS_ROUTE, "route")); //$NON-NLS-1$
+        Assert.assertEquals(4, reads);
+    }
+
+    @Test
+    public void testInvalidateDuringRead() throws Exception {
+        Project main = project("MAIN"); //$NON-NLS-1$
+        add(main, ERepositoryObjectType.PROCESS, "job", "Job"); //$NON-NLS-1$ //$NON-NLS-2$
+        RepositoryObjectIndex[] changingIndex = new RepositoryObjectIndex[1];
+        changingIndex[0] = new RepositoryObjectIndex((project, type) -> {
+            List<IRepositoryViewObject> objects =
+                    new ArrayList<IRepositoryViewObject>(repository.get(project.getTechnicalLabel() + '/' + type.getType()));
+            if (reads++ == 0) {
+                // a job created while its type is read
+                add(main, ERepositoryObjectType.PROCESS, "newJob", "NewJob"); //$NON-NLS-1$ //$NON-NLS-2$
+                changingIndex[0].invalidate(ERepositoryObjectType.PROCESS);
+            }
+            return objects;
+        });
+        // the stale read answers the lookup started before the change, not the next ones
+        Assert.assertNull(changingIndex[0].getById(main, ERepositoryObjectType.PROCESS, "newJob")); //$NON-NLS-1$
+        Assert.assertNotNull(changingIndex[0].getById(main, ERepositoryObjectType.PROCESS, "newJob")); //$NON-NLS-1$
+        Assert.assertEquals(2, reads);
+    }
+}
@@ -24,12 +24,17 @@ package org.talend.esb.designer.camel.dependencies.core;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.core.runtime.Path;
 import org.junit.Assert;
 import org.junit.Test;
+import org.talend.commons.exception.PersistenceException;
 import org.talend.core.model.properties.ProcessItem;
 import org.talend.core.model.properties.PropertiesFactory;
 import org.talend.core.model.properties.Property;
+import org.talend.core.repository.model.ProxyRepositoryFactory;
 import org.talend.designer.camel.dependencies.core.DependenciesResolver;
+import org.talend.designer.core.model.components.EParameterName;
+import org.talend.designer.core.model.utils.emf.talendfile.ElementParameterType;
 import org.talend.designer.core.model.utils.emf.talendfile.NodeType;
 import org.talend.designer.core.model.utils.emf.talendfile.TalendFileFactory;
 
@@ -65,4 +70,63 @@ public class DependenciesResolverTest {
         }
 
     }
+
+    /**
+     * The nodes of a routelet are resolved again once the routelet is saved.
+     */
+    @Test
+    public void testDependenciesResolverRouteletSaved() throws PersistenceException {
+        ProxyRepositoryFactory factory = ProxyRepositoryFactory.getInstance();
+        ProcessItem routeletItem = createProcessItem(factory.getNextId());
+        routeletItem.getProcess().getNode().add(createNode("cLog", "cLog_1"));
+        factory.create(routeletItem, new Path(""));
+        try {
+            ProcessItem routeItem = createProcessItem(factory.getNextId());
+            NodeType routeletNode = createNode("cRoutelet", "cRoutelet_1");
+            routeletNode.getElementParameter().add(createParameter(
+                    EParameterName.PROCESS_TYPE.getName() + ':' + EParameterName.PROCESS_TYPE_PROCESS.getName(),
+                    routeletItem.getProperty().getId()));
+            routeItem.getProcess().getNode().add(routeletNode);
+
+            List<String> packageList = Arrays.asList(
+                    new DependenciesResolver(routeItem).getManifestImportPackage('\n').split("\n"));
+            Assert.assertFalse(packageList.contains("org.apache.camel.component.cxf"));
+
+            routeletItem.getProcess().getNode().add(createNode("cSOAP", "cSOAP_1"));
+            factory.save(routeletItem);
+
+            packageList = Arrays.asList(
+                    new DependenciesResolver(routeItem).getManifestImportPackage('\n').split("\n"));
+            Assert.assertTrue(packageList.contains("org.apache.camel.component.cxf"));
+        } finally {
+            factory.deleteObjectPhysical(factory.getLastVersion(routeletItem.getProperty().getId()));
+        }
+    }
+
+    private static ProcessItem createProcessItem(String id) {
+        ProcessItem processItem = PropertiesFactory.eINSTANCE.createProcessItem();
+        Property property = PropertiesFactory.eINSTANCE.createProperty();
+        processItem.setProperty(property);
+        property.setItem(processItem);
+        property.setId(id);
+        property.setLabel("item" + id.replaceAll("\\W", ""));
+        property.setVersion("0.1");
+        processItem.setProcess(TalendFileFactory.eINSTANCE.createProcessType());
+        return processItem;
+    }
+
+    private static NodeType createNode(String componentName, String uniqueName) {
+        NodeType node = TalendFileFactory.eINSTANCE.createNodeType();
+        node.setComponentName(componentName);
+        node.setComponentVersion("0.1");
+        node.getElementParameter().add(createParameter(EParameterName.UNIQUE_NAME.getName(), uniqueName));
+        return node;
+    }
+
+    private static ElementParameterType createParameter(String name, String value) {
+        ElementParameterType parameter = TalendFileFactory.eINSTANCE.createElementParameterType();
+        parameter.setName(name);
+        parameter.setValue(value);
+        return parameter;
+    }
 }
@@ -21,6 +21,13 @@
 // ============================================================================
 package org.talend.esb.designer.camel.resource.core.util;
 
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Path;
 import org.junit.Assert;
 import org.junit.Test;
@@ -68,4 +75,89 @@ public class RouteResourceUtilTest {
                 .getInstance()
                 .deleteObjectPhysical(ProxyRepositoryFactory.getInstance().getLastVersion(id));
     }
+
+    /**
+     * Test method for
+     * {@link org.talend.designer.camel.resource.core.util.RouteResourceUtil#writeIfChanged(org.eclipse.core.resources.IFile, byte[])}
+     * .
+     */
+    @Test
+    public void testWriteIfChanged() throws Exception {
+        IProject project = createProject("testWriteIfChanged");
+        try {
+            IFile file = project.getFile("resource.txt");
+            RouteResourceUtil.writeIfChanged(file, bytes("content"));
+            Assert.assertEquals("content", read(file));
+
+            // same content: not written again
+            long modificationStamp = file.getModificationStamp();
+            RouteResourceUtil.writeIfChanged(file, bytes("content"));
+            Assert.assertEquals(modificationStamp, file.getModificationStamp());
+
+            RouteResourceUtil.writeIfChanged(file, bytes("changed"));
+            Assert.assertEquals("changed", read(file));
+
+            // deleted behind the workspace, by a Maven clean for instance
+            Assert.assertTrue(file.getLocation().toFile().delete());
+            RouteResourceUtil.writeIfChanged(file, bytes("changed"));
+            Assert.assertEquals("changed", read(file));
+        } finally {
+            project.delete(true, true, null);
+        }
+    }
+
+    /**
+     * Test method for
+     * {@link org.talend.designer.camel.resource.core.util.RouteResourceUtil#copyIfChanged(java.io.File, org.eclipse.core.resources.IFile)}
+     * .
+     */
+    @Test
+    public void testCopyIfChanged() throws Exception {
+        IProject project = createProject("testCopyIfChanged");
+        File source = File.createTempFile("resource", ".txt");
+        try {
+            Files.write(source.toPath(), bytes("content"));
+            IFile file = project.getFile("resource.txt");
+            RouteResourceUtil.copyIfChanged(source, file);
+            Assert.assertEquals("content", read(file));
+
+            // same content: not copied again, so a change keeping the size and date of the target stays
+            File target = file.getLocation().toFile();
+            long lastModified = target.lastModified();
+            Files.write(target.toPath(), bytes("CONTENT"));
+            Assert.assertTrue(target.setLastModified(lastModified));
+            RouteResourceUtil.copyIfChanged(source, file);
+            Assert.assertEquals("CONTENT", read(file));
+
+            Files.write(source.toPath(), bytes("changed"));
+            RouteResourceUtil.copyIfChanged(source, file);
+            Assert.assertEquals("changed", read(file));
+
+            // deleted behind the workspace, by a Maven clean for instance
+            Assert.assertTrue(target.delete());
+            RouteResourceUtil.copyIfChanged(source, file);
+            Assert.assertEquals("changed", read(file));
+            Assert.assertTrue(file.exists());
+        } finally {
+            source.delete();
+            project.delete(true, true, null);
+        }
+    }
+
+    private static IProject createProject(String name) throws Exception {
+        IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(name);
+        if (!project.exists()) {
+            project.create(null);
+        }
+        project.open(null);
+        return project;
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(IFile file) throws Exception {
+        return new String(Files.readAllBytes(file.getLocation().toFile().toPath()), StandardCharsets.UTF_8);
+    }
 }
@@ -0,0 +1,79 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.core.GlobalServiceRegister;
+import org.talend.designer.codegen.ICamelCodeGeneratorService;
+import org.talend.designer.codegen.exception.CodeGeneratorException;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CodeGenerationBenchmark {
+
+    private static final String FULL_GENERATION = "talend.camel.codegen.fullGeneration"; //$NON-NLS-1$
+
+    @Param({ "10", "100", "1000" })
+    public int nodes;
+
+    /**
+     * whether the code of unchanged sub trees is reused from the previous generations
+     */
+    @Param({ "false", "true" })
+    public boolean incremental;
+
+    private RouteProcess route;
+
+    private ICamelCodeGeneratorService service;
+
+    @Setup
+    public void setUp() {
+        System.setProperty(FULL_GENERATION, Boolean.toString(!incremental));
+        service = GlobalServiceRegister.getDefault().getService(ICamelCodeGeneratorService.class);
+        // also clears the sub tree code cache
+        service.refreshTemplates();
+        route = RouteModels.createRoute(RouteModels.createRouteItem("CodeGenerationRoute", nodes), nodes); //$NON-NLS-1$
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(FULL_GENERATION);
+        service.refreshTemplates();
+    }
+
+    @Benchmark
+    public String generateProcessCode() throws CodeGeneratorException {
+        return service.createCodeGenerator(route, false, false).generateProcessCode();
+    }
+}
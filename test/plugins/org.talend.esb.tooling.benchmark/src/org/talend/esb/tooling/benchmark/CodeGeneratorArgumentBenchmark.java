@@ -0,0 +1,100 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.talend.designer.codegen.config.CodeGeneratorArgument;
+
+/**
+ * Cost of the argument of one code part: the copy of a template argument through its bean properties, as the route
+ * code generator used to do, against setting the route settings directly, as its argument builder does now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CodeGeneratorArgumentBenchmark {
+
+    private final CodeGeneratorArgument template = new CodeGeneratorArgument();
+
+    private BeanInfo beanInfo;
+
+    @Setup
+    public void setUp() throws IntrospectionException {
+        template.setJobName("BenchmarkRoute"); //$NON-NLS-1$
+        template.setJobVersion("0_1"); //$NON-NLS-1$
+        template.setContextName("Default"); //$NON-NLS-1$
+        template.setIsRunInMultiThread(false);
+        template.setStatistics(false);
+        template.setTrace(false);
+        template.setInterpreterPath(""); //$NON-NLS-1$
+        template.setLibPath(""); //$NON-NLS-1$
+        template.setRuntimeFilePath(""); //$NON-NLS-1$
+        template.setCurrentProjectName(""); //$NON-NLS-1$
+        template.setCheckingSyntax(false);
+        template.setPauseTime(0);
+        beanInfo = Introspector.getBeanInfo(CodeGeneratorArgument.class);
+    }
+
+    @Benchmark
+    public CodeGeneratorArgument copyTemplate() throws Exception {
+        CodeGeneratorArgument argument = new CodeGeneratorArgument();
+        for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
+            Method rm = propertyDescriptor.getReadMethod();
+            Method wm = propertyDescriptor.getWriteMethod();
+            if (rm != null && wm != null) {
+                wm.invoke(argument, rm.invoke(template));
+            }
+        }
+        return argument;
+    }
+
+    @Benchmark
+    public CodeGeneratorArgument setSettings() {
+        CodeGeneratorArgument argument = new CodeGeneratorArgument();
+        argument.setJobName("BenchmarkRoute"); //$NON-NLS-1$
+        argument.setJobVersion("0_1"); //$NON-NLS-1$
+        argument.setContextName("Default"); //$NON-NLS-1$
+        argument.setIsRunInMultiThread(false);
+        argument.setStatistics(false);
+        argument.setTrace(false);
+        argument.setInterpreterPath(""); //$NON-NLS-1$
+        argument.setLibPath(""); //$NON-NLS-1$
+        argument.setRuntimeFilePath(""); //$NON-NLS-1$
+        argument.setCurrentProjectName(""); //$NON-NLS-1$
+        argument.setCheckingSyntax(false);
+        argument.setPauseTime(0);
+        return argument;
+    }
+}
@@ -0,0 +1,71 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.talend.camel.core.model.camelProperties.CamelProcessItem;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.designer.camel.dependencies.core.DependenciesResolver;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DependenciesResolverBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int nodes;
+
+    private CamelProcessItem item;
+
+    private RouteProcess route;
+
+    @Setup
+    public void setUp() {
+        item = RouteModels.createRouteItem("DependenciesRoute", nodes); //$NON-NLS-1$
+        route = RouteModels.createRoute(item, nodes);
+    }
+
+    /**
+     * resolution from the saved model, as done by the export
+     */
+    @Benchmark
+    public String resolveItem() {
+        return new DependenciesResolver(item).getManifestImportPackage(',');
+    }
+
+    /**
+     * resolution from the graphical model, as done by the route editor
+     */
+    @Benchmark
+    public String resolveProcess() {
+        return new DependenciesResolver(route).getManifestImportPackage(',');
+    }
+}
@@ -0,0 +1,125 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+
+import org.dom4j.Document;
+import org.dom4j.io.SAXReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.xml.sax.InputSource;
+
+/**
+ * Conversion of SOAP payloads between {@link Source} and dom4j by the generated tESBConsumer and tESBProviderRequest
+ * code: serializing and parsing them again, as the components used to do, against the Dom4jSourceBridge of the
+ * tESBConsumer header, compiled from the template.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class Dom4jSourceBridgeBenchmark {
+
+    private static final String NAMESPACE = "http://www.talend.org/service/"; //$NON-NLS-1$
+
+    /**
+     * approximate size of the payload, in bytes
+     */
+    @Param({ "1024", "102400", "10485760" })
+    public int size;
+
+    private MethodHandle read;
+
+    private MethodHandle toDOM;
+
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+
+    private org.w3c.dom.Document payload;
+
+    private Document document;
+
+    @Setup
+    public void setUp() throws Exception {
+        Class<?> bridge = TemplateClasses.load("org.talend.designer.esb.components.ws.consumer", //$NON-NLS-1$
+                "additional/header_additional_talendesb_wsconsumer.javajet", "Dom4jSourceBridge", //$NON-NLS-1$ //$NON-NLS-2$
+                "cxf-core.jar", "dom4j.jar"); //$NON-NLS-1$ //$NON-NLS-2$
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        read = lookup.findStatic(bridge, "read", MethodType.methodType(Document.class, Source.class)); //$NON-NLS-1$
+        toDOM = lookup.findStatic(bridge, "toDOM", //$NON-NLS-1$
+                MethodType.methodType(org.w3c.dom.Document.class, Document.class));
+
+        StringBuilder xml = new StringBuilder("<tns:request xmlns:tns=\"" + NAMESPACE + "\">"); //$NON-NLS-1$ //$NON-NLS-2$
+        for (int i = 0; xml.length() < size; i++) {
+            xml.append("<tns:item id=\"").append(i).append("\"><tns:name>Item ").append(i) //$NON-NLS-1$ //$NON-NLS-2$
+                    .append("</tns:name><tns:value>").append(i * 31).append("</tns:value></tns:item>"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        xml.append("</tns:request>"); //$NON-NLS-1$
+        byte[] bytes = xml.toString().getBytes(StandardCharsets.UTF_8);
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        payload = factory.newDocumentBuilder().parse(new ByteArrayInputStream(bytes));
+        document = new SAXReader().read(new ByteArrayInputStream(bytes));
+    }
+
+    @Benchmark
+    public Document readBySerialization() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transformerFactory.newTransformer().transform(new DOMSource(payload), new StreamResult(out));
+        return new SAXReader().read(new ByteArrayInputStream(out.toByteArray()));
+    }
+
+    @Benchmark
+    public Document readWithBridge() throws Throwable {
+        return (Document) read.invoke((Source) new DOMSource(payload));
+    }
+
+    @Benchmark
+    public org.w3c.dom.Document writeBySerialization() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        return factory.newDocumentBuilder().parse(new InputSource(new StringReader(document.asXML())));
+    }
+
+    @Benchmark
+    public org.w3c.dom.Document writeWithBridge() throws Throwable {
+        return (org.w3c.dom.Document) toDOM.invoke(document);
+    }
+}
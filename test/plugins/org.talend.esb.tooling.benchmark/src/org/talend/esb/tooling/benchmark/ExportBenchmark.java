@@ -0,0 +1,146 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.talend.camel.core.model.camelProperties.CamelProcessItem;
+import org.talend.camel.designer.build.CreateMavenBundlePom;
+import org.talend.camel.designer.runprocess.maven.BundleJavaProcessor;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.commons.exception.PersistenceException;
+import org.talend.commons.utils.workbench.resources.ResourceUtils;
+import org.talend.core.model.context.JobContext;
+import org.talend.core.model.context.JobContextManager;
+import org.talend.core.model.process.IContext;
+import org.talend.core.model.properties.ByteArray;
+import org.talend.core.model.properties.PropertiesFactory;
+import org.talend.core.model.properties.Property;
+import org.talend.core.model.resources.ResourceItem;
+import org.talend.core.model.resources.ResourcesFactory;
+import org.talend.core.repository.model.ProxyRepositoryFactory;
+import org.talend.designer.camel.resource.core.model.ResourceDependencyModel;
+import org.talend.designer.camel.resource.core.util.RouteResourceUtil;
+import org.talend.designer.maven.model.TalendMavenConstants;
+import org.talend.designer.runprocess.IProcessor;
+import org.talend.repository.ProjectManager;
+
+/**
+ * Export of a route: creation of its bundle pom and copy of the route resources (one resource per
+ * {@link RouteModels#NODES_PER_ROUTE} nodes) to the route project.
+ * <p>
+ * The route item stays in memory; the resources are saved in the repository of the test project during the setup
+ * since they are looked up there by id.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ExportBenchmark {
+
+    private static final String ROUTE_NAME = "ExportRoute"; //$NON-NLS-1$
+
+    @Param({ "10", "100", "1000" })
+    public int nodes;
+
+    private final List<String> resourceIds = new ArrayList<String>();
+
+    private CamelProcessItem item;
+
+    private IProcessor processor;
+
+    private IFile pomFile;
+
+    @SuppressWarnings("unchecked")
+    @Setup
+    public void setUp() throws PersistenceException {
+        item = RouteModels.createRouteItem(ROUTE_NAME, nodes);
+        Property property = item.getProperty();
+
+        JobContextManager contextManager = new JobContextManager();
+        IContext context = new JobContext("Default"); //$NON-NLS-1$
+        contextManager.getListContext().add(context);
+        processor = new BundleJavaProcessor(new RouteProcess(property), property, true, true);
+        processor.setContext(context);
+        pomFile = ResourceUtils.getProject(ProjectManager.getInstance().getCurrentProject())
+                .getFile(new Path("poms/jobs/routes/" + ROUTE_NAME.toLowerCase() + '_' + RouteModels.VERSION + '/' //$NON-NLS-1$
+                        + TalendMavenConstants.POM_FILE_NAME));
+
+        Collection<ResourceDependencyModel> models = new ArrayList<ResourceDependencyModel>();
+        for (int i = 0; i < nodes / RouteModels.NODES_PER_ROUTE; i++) {
+            String id = createResource("BenchmarkResource" + i); //$NON-NLS-1$
+            resourceIds.add(id);
+            models.add(RouteResourceUtil.createDependency(id, RouteModels.VERSION));
+        }
+        RouteResourceUtil.saveResourceDependency((Map<Object, Object>) property.getAdditionalProperties().map(), models);
+    }
+
+    private static String createResource(String name) throws PersistenceException {
+        ResourceItem resource = ResourcesFactory.eINSTANCE.createResourceItem();
+        Property property = PropertiesFactory.eINSTANCE.createProperty();
+        String id = ProxyRepositoryFactory.getInstance().getNextId();
+        property.setId(id);
+        property.setLabel(name);
+        property.setVersion(RouteModels.VERSION);
+        resource.setProperty(property);
+        ByteArray content = PropertiesFactory.eINSTANCE.createByteArray();
+        content.setInnerContent(new byte[1024]);
+        resource.setContent(content);
+        ProxyRepositoryFactory.getInstance().create(resource, new Path("")); //$NON-NLS-1$
+        return id;
+    }
+
+    @TearDown
+    public void tearDown() throws PersistenceException {
+        for (String id : resourceIds) {
+            ProxyRepositoryFactory.getInstance()
+                    .deleteObjectPhysical(ProxyRepositoryFactory.getInstance().getLastVersion(id));
+        }
+        resourceIds.clear();
+    }
+
+    @Benchmark
+    public void createBundlePom() throws Exception {
+        new CreateMavenBundlePom(processor, pomFile).create(new NullProgressMonitor());
+    }
+
+    @Benchmark
+    public Collection<IPath> synchronizeRouteResource() {
+        return RouteResourceUtil.synchronizeRouteResource(item);
+    }
+}
@@ -0,0 +1,142 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Dispatch of a request to the output flow of its operation by tRESTRequestIn, for a service of 16 operations: the
+ * chain of comparisons with every flow name the component used to generate, against clearing the flows and
+ * switching on the flow name, as it does now.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RestDispatchBenchmark {
+
+    private static final int FLOWS = 16;
+
+    private static final String[] FLOW_NAMES = new String[FLOWS];
+
+    static {
+        for (int i = 0; i < FLOWS; i++) {
+            FLOW_NAMES[i] = "row" + i; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * index of the flow of the matched operation
+     */
+    @Param({ "0", "7", "15" })
+    public int matched;
+
+    private final Object[] flows = new Object[FLOWS];
+
+    private String matchedFlow;
+
+    @Setup
+    public void setUp() {
+        // a new string, as the one found by the request
+        matchedFlow = new String(FLOW_NAMES[matched]);
+    }
+
+    @Benchmark
+    public Object[] compareEveryFlow() {
+        for (int i = 0; i < FLOWS; i++) {
+            if (matchedFlow.equals(FLOW_NAMES[i])) {
+                flows[i] = new Object();
+            } else { // non matched flow
+                flows[i] = null;
+            }
+        }
+        return flows;
+    }
+
+    @Benchmark
+    public Object[] switchOnFlow() {
+        for (int i = 0; i < FLOWS; i++) {
+            flows[i] = null;
+        }
+        switch (matchedFlow) {
+        case "row0":
+            flows[0] = new Object();
+            break;
+        case "row1":
+            flows[1] = new Object();
+            break;
+        case "row2":
+            flows[2] = new Object();
+            break;
+        case "row3":
+            flows[3] = new Object();
+            break;
+        case "row4":
+            flows[4] = new Object();
+            break;
+        case "row5":
+            flows[5] = new Object();
+            break;
+        case "row6":
+            flows[6] = new Object();
+            break;
+        case "row7":
+            flows[7] = new Object();
+            break;
+        case "row8":
+            flows[8] = new Object();
+            break;
+        case "row9":
+            flows[9] = new Object();
+            break;
+        case "row10":
+            flows[10] = new Object();
+            break;
+        case "row11":
+            flows[11] = new Object();
+            break;
+        case "row12":
+            flows[12] = new Object();
+            break;
+        case "row13":
+            flows[13] = new Object();
+            break;
+        case "row14":
+            flows[14] = new Object();
+            break;
+        case "row15":
+            flows[15] = new Object();
+            break;
+        default: // wrong calls flow or no flow
+            break;
+        }
+        return flows;
+    }
+}
@@ -0,0 +1,76 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.io.File;
+import java.util.Collection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the benchmarks of this fragment and writes their results as JSON, for comparison between builds.
+ * <p>
+ * The benchmarks need the Studio platform (components, repository, test project), so they run in the JVM of the
+ * test platform instead of forked JVMs. Supported system properties:
+ * <ul>
+ * <li><code>talend.benchmark.include</code>: regular expression of the benchmarks to run, all by default</li>
+ * <li><code>talend.benchmark.nodes</code>: comma separated sizes of the routes, 10,100,1000 by default</li>
+ * <li><code>talend.benchmark.iterations</code>: measurement iterations of one second, 5 by default</li>
+ * <li><code>talend.benchmark.result</code>: result file, target/jmh-result.json by default</li>
+ * </ul>
+ */
+public class RouteBenchmarksTest {
+
+    @Test
+    public void runBenchmarks() throws Exception {
+        File result = new File(System.getProperty("talend.benchmark.result", "target/jmh-result.json")) //$NON-NLS-1$ //$NON-NLS-2$
+                .getAbsoluteFile();
+        result.getParentFile().mkdirs();
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("talend.benchmark.include", //$NON-NLS-1$
+                        RouteBenchmarksTest.class.getPackage().getName() + ".*")) //$NON-NLS-1$
+                .forks(0)
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(Integer.getInteger("talend.benchmark.iterations", 5)) //$NON-NLS-1$
+                .measurementTime(TimeValue.seconds(1))
+                .timeout(TimeValue.minutes(10))
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.getPath());
+        String nodes = System.getProperty("talend.benchmark.nodes"); //$NON-NLS-1$
+        if (nodes != null) {
+            options.param("nodes", nodes.split(",")); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+        Assert.assertFalse("No benchmark run", results.isEmpty()); //$NON-NLS-1$
+        Assert.assertTrue(result.isFile());
+    }
+}
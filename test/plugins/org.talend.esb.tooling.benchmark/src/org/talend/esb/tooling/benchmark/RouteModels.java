@@ -0,0 +1,110 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.util.List;
+
+import org.talend.camel.core.model.camelProperties.CamelProcessItem;
+import org.talend.camel.core.model.camelProperties.CamelPropertiesFactory;
+import org.talend.camel.designer.ui.editor.RouteProcess;
+import org.talend.core.model.components.IComponent;
+import org.talend.core.model.process.EConnectionType;
+import org.talend.core.model.process.INode;
+import org.talend.core.model.properties.ItemState;
+import org.talend.core.model.properties.PropertiesFactory;
+import org.talend.core.model.properties.Property;
+import org.talend.core.ui.component.ComponentsFactoryProvider;
+import org.talend.designer.core.model.utils.emf.talendfile.NodeType;
+import org.talend.designer.core.model.utils.emf.talendfile.ProcessType;
+import org.talend.designer.core.model.utils.emf.talendfile.TalendFileFactory;
+import org.talend.designer.core.ui.editor.connections.Connection;
+import org.talend.designer.core.ui.editor.nodecontainer.NodeContainer;
+import org.talend.designer.core.ui.editor.nodes.Node;
+
+/**
+ * Synthetic routes used by the benchmarks: chains of {@link #NODES_PER_ROUTE} nodes, a cTimer followed by cLog
+ * nodes linked by route connections.
+ */
+final class RouteModels {
+
+    static final String VERSION = "0.1"; //$NON-NLS-1$
+
+    static final int NODES_PER_ROUTE = 10;
+
+    private static final String TIMER = "cTimer"; //$NON-NLS-1$
+
+    private static final String LOG = "cLog"; //$NON-NLS-1$
+
+    private RouteModels() {
+    }
+
+    /**
+     * @return a route item (not saved in the repository) whose process holds <code>nodes</code> nodes
+     */
+    static CamelProcessItem createRouteItem(String name, int nodes) {
+        CamelProcessItem item = CamelPropertiesFactory.eINSTANCE.createCamelProcessItem();
+        Property property = PropertiesFactory.eINSTANCE.createProperty();
+        property.setId(name.toLowerCase() + "_Item_ID"); //$NON-NLS-1$
+        property.setLabel(name);
+        property.setVersion(VERSION);
+        property.setItem(item);
+        item.setProperty(property);
+        ItemState state = PropertiesFactory.eINSTANCE.createItemState();
+        state.setPath(""); //$NON-NLS-1$
+        item.setState(state);
+        item.setSpringContent("<beans/>"); //$NON-NLS-1$
+
+        ProcessType process = TalendFileFactory.eINSTANCE.createProcessType();
+        for (int i = 0; i < nodes; i++) {
+            NodeType node = TalendFileFactory.eINSTANCE.createNodeType();
+            node.setComponentName(i % NODES_PER_ROUTE == 0 ? TIMER : LOG);
+            node.setComponentVersion(VERSION);
+            process.getNode().add(node);
+        }
+        item.setProcess(process);
+        return item;
+    }
+
+    /**
+     * @return the graphical and generating models of a route of <code>nodes</code> nodes for the given item
+     */
+    @SuppressWarnings("unchecked")
+    static RouteProcess createRoute(CamelProcessItem item, int nodes) {
+        IComponent timer = ComponentsFactoryProvider.getInstance().get(TIMER, "CAMEL"); //$NON-NLS-1$
+        IComponent log = ComponentsFactoryProvider.getInstance().get(LOG, "CAMEL"); //$NON-NLS-1$
+        RouteProcess route = new RouteProcess(item.getProperty());
+        route.setId(item.getProperty().getLabel());
+        Node previous = null;
+        for (int i = 0; i < nodes; i++) {
+            Node node = new Node(i % NODES_PER_ROUTE == 0 ? timer : log, route);
+            route.addNodeContainer(new NodeContainer(node));
+            if (i % NODES_PER_ROUTE != 0) {
+                String name = "route" + i; //$NON-NLS-1$
+                new Connection(previous, node, EConnectionType.ROUTE, EConnectionType.ROUTE.getName(),
+                        previous.getUniqueName(), name, name, false);
+            }
+            previous = node;
+        }
+        route.getGeneratingProcess().buildFromGraphicalProcess((List<INode>) route.getGraphicalNodes());
+        return route;
+    }
+}
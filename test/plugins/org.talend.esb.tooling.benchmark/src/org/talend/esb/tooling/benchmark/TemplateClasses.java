@@ -0,0 +1,121 @@
+// ============================================================================
+//
+// Talend Community Edition
+//
+// Copyright (C) 2006-2021 Talend – www.talend.com
+//
+// This library is free software; you can redistribute it and/or
+// modify it under the terms of the GNU Lesser General Public
+// License as published by the Free Software Foundation; either
+// version 2.1 of the License, or (at your option) any later version.
+//
+// This library is distributed in the hope that it will be useful,
+// but WITHOUT ANY WARRANTY; without even the implied warranty of
+// MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+// Lesser General Public License for more details.
+//
+// You should have received a copy of the GNU General Public License
+// along with this program; if not, write to the Free Software
+// Foundation, Inc., 675 Mass Ave, Cambridge, MA 02139, USA.
+//
+// ============================================================================
+package org.talend.esb.tooling.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Classes of the generated jobs, taken from the component templates and compiled against the libraries of this
+ * fragment, so that the benchmarks measure the code the templates generate.
+ */
+final class TemplateClasses {
+
+    private TemplateClasses() {
+    }
+
+    /**
+     * @param bundleName the component plugin
+     * @param templatePath the template in the plugin
+     * @param className a static nested class of the template without JET code
+     * @param libraries the jars of the lib folder of this fragment the class needs
+     */
+    static Class<?> load(String bundleName, String templatePath, String className, String... libraries)
+            throws Exception {
+        Bundle bundle = Platform.getBundle(bundleName);
+        if (bundle == null) {
+            throw new IllegalStateException(bundleName + " is not installed"); //$NON-NLS-1$
+        }
+        String template;
+        try (InputStream in = bundle.getEntry(templatePath).openStream()) {
+            template = read(in);
+        }
+        String declaration = "static class " + className + " {"; //$NON-NLS-1$ //$NON-NLS-2$
+        int start = template.indexOf(declaration);
+        if (start < 0) {
+            throw new IllegalStateException(className + " not found in " + templatePath); //$NON-NLS-1$
+        }
+        int end = start + declaration.length();
+        for (int depth = 1; depth > 0; end++) {
+            char c = template.charAt(end);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}') {
+                depth--;
+            }
+        }
+        String source = "public " + template.substring(start + "static ".length(), end); //$NON-NLS-1$ //$NON-NLS-2$
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("The benchmarks must run on a JDK"); //$NON-NLS-1$
+        }
+        File dir = Files.createTempDirectory("benchmark").toFile(); //$NON-NLS-1$
+        dir.deleteOnExit();
+        File sourceFile = new File(dir, className + ".java"); //$NON-NLS-1$
+        Files.write(sourceFile.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        StringBuilder classpath = new StringBuilder();
+        Bundle benchmarks = FrameworkUtil.getBundle(TemplateClasses.class);
+        for (String library : libraries) {
+            URL url = FileLocator.find(benchmarks, new Path("lib/" + library), null); //$NON-NLS-1$
+            if (url == null) {
+                throw new IllegalStateException(library + " not found in the lib folder"); //$NON-NLS-1$
+            }
+            if (classpath.length() > 0) {
+                classpath.append(File.pathSeparatorChar);
+            }
+            classpath.append(new File(FileLocator.toFileURL(url).getPath()).getPath());
+        }
+        int status = compiler.run(null, null, null, "-nowarn", "-classpath", classpath.toString(), "-d", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+                dir.getPath(), sourceFile.getPath());
+        if (status != 0) {
+            throw new IllegalStateException("Cannot compile " + className + " from " + templatePath); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        // the libraries come from this fragment, the benchmarks use the same classes
+        return new URLClassLoader(new URL[] { dir.toURI().toURL() }, TemplateClasses.class.getClassLoader())
+                .loadClass(className);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}